@@ -353,6 +353,16 @@ public final class Constants {
     @Config(defaultValue = "false")
     public static final String MAVEN_REPO_LOCAL_RECORD_REVERSE_TREE = "maven.repo.local.recordReverseTree";
 
+    /**
+     * User property for enabling the dependency collection cache. When enabled, the dependency graphs collected
+     * for the same dependencies, managed dependencies, repositories and scope are collected once per session and
+     * reused by all the projects of the reactor having the same dependencies.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Boolean", defaultValue = "true")
+    public static final String MAVEN_RESOLVER_COLLECT_CACHE = "maven.resolver.collectCache";
+
     /**
      * User property for selecting dependency manager behaviour regarding transitive dependencies and dependency
      * management entries in their POMs. Maven 3 targeted full backward compatibility with Maven2, hence it ignored
@@ -392,6 +402,17 @@ public final class Constants {
     @Config
     public static final String MAVEN_PLUGIN_VALIDATION_EXCLUDES = "maven.plugin.validation.excludes";
 
+    /**
+     * User property for enabling the plugin descriptor index. When enabled, the descriptor of each plugin is
+     * stored in a pre-parsed form next to the plugin JAR (a file with the <code>.descriptor</code> extension),
+     * and read from there in the next builds as long as the JAR is not modified, instead of opening the JAR
+     * and parsing its <code>META-INF/maven/plugin.xml</code>.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Boolean", defaultValue = "false")
+    public static final String MAVEN_PLUGIN_DESCRIPTOR_INDEX = "maven.plugin.descriptorIndex";
+
     /**
      * ProjectBuilder parallelism.
      *
@@ -400,6 +421,134 @@ public final class Constants {
     @Config(type = "java.lang.Integer", defaultValue = "cores/2 + 1")
     public static final String MAVEN_MODEL_BUILDER_PARALLELISM = "maven.modelBuilder.parallelism";
 
+    /**
+     * User property for enabling the incremental model building: the effective models of the projects
+     * of a reactor are kept along with a digest of their inputs (POM content, parents, profile activation,
+     * properties), and reused by subsequent builds for the projects whose inputs have not changed.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Boolean", defaultValue = "false")
+    public static final String MAVEN_MODEL_BUILDER_INCREMENTAL = "maven.modelBuilder.incremental";
+
+    /**
+     * User property for enabling the persistent model cache: the effective models kept by the incremental
+     * model building are saved in a file of the {@code .cache/maven-model-cache} directory of the local
+     * repository, named after the root directory, and loaded by the next builds, even after the build
+     * directories have been cleaned.  Enabling this property also enables the incremental model building.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Boolean", defaultValue = "false")
+    public static final String MAVEN_MODEL_BUILDER_PERSISTENT_CACHE = "maven.modelBuilder.persistentCache";
+
+    /**
+     * Maximum number of entries of the model cache shared across builds by resident Maven instances. A value of
+     * <code>0</code> disables it, so that the model cache is not shared across builds. Resident invokers use a
+     * size of <code>10000</code> unless a value is specified.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Integer", defaultValue = "0")
+    public static final String MAVEN_MODEL_CACHE_RESIDENT_SIZE = "maven.modelCache.residentSize";
+
+    /**
+     * Maximum number of warm contexts kept by resident Maven instances. Builds using different settings, core
+     * extensions, JVM configuration, Maven installation or root directory need different contexts; when more are
+     * needed, the least recently used idle context is shut down.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Integer", defaultValue = "4")
+    public static final String MAVEN_RESIDENT_MAX_CONTEXTS = "maven.resident.maxContexts";
+
+    /**
+     * Number of seconds after which a context of a resident Maven instance which has not been used is shut down.
+     * A value of <code>0</code> keeps the contexts until they are evicted by newer ones.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Long", defaultValue = "1800")
+    public static final String MAVEN_RESIDENT_IDLE_TIMEOUT = "maven.resident.idleTimeout";
+
+    /**
+     * Maximum number of entries kept by the model cache during a build. When reached, the least recently
+     * used entries are evicted and recomputed when needed. The model cache is unbounded if this property
+     * is not set or set to <code>0</code>.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Integer")
+    public static final String MAVEN_MODEL_CACHE_MAX_ENTRIES = "maven.modelCache.maxEntries";
+
+    /**
+     * Maximum number of entries kept by the model cache for each kind of entry, as a comma separated list
+     * of <code>tag=size</code> pairs, for example <code>raw=500,parent=200</code>. Supported tags are
+     * <code>file</code>, <code>raw</code>, <code>parent</code> and <code>import</code>.
+     *
+     * @since 4.0.0
+     */
+    @Config
+    public static final String MAVEN_MODEL_CACHE_TAG_MAX_ENTRIES = "maven.modelCache.tagMaxEntries";
+
+    /**
+     * Whether the model cache values should be held by soft references, so that they can be reclaimed
+     * by the garbage collector under memory pressure and recomputed when needed.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Boolean", defaultValue = "false")
+    public static final String MAVEN_MODEL_CACHE_SOFT_VALUES = "maven.modelCache.softValues";
+
+    /**
+     * Whether the model cache statistics (hits, misses, evictions and compute time per tag) should be
+     * logged at the end of the build.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Boolean", defaultValue = "false")
+    public static final String MAVEN_MODEL_CACHE_STATS = "maven.modelCache.stats";
+
+    /**
+     * Order in which the concurrent builder picks the build steps ready to be executed. Supported values are
+     * <code>fifo</code> to execute steps in the order they become ready, and <code>critical-path</code> to execute
+     * first the steps having the longest chain of work remaining downstream.
+     *
+     * @since 4.0.0
+     */
+    @Config(defaultValue = "fifo")
+    public static final String MAVEN_BUILDER_CONCURRENT_PRIORITY = "maven.builder.concurrent.priority";
+
+    /**
+     * Path of the file in which the concurrent builder persists the duration of each mojo execution, so that
+     * subsequent builds can use them to prioritize build steps and predict durations, for example
+     * <code>.mvn/timings.properties</code>. Relative paths are resolved against the top directory.
+     * Durations are not persisted if this property is not set.
+     *
+     * @since 4.0.0
+     */
+    @Config
+    public static final String MAVEN_BUILDER_TIMINGS = "maven.builder.timings";
+
+    /**
+     * User property for buffering the output of each project while it is built, and writing it at once when the
+     * project finishes, so that the output of the projects built concurrently is not interleaved. A status line
+     * lists the projects being built if the terminal supports it.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Boolean", defaultValue = "false")
+    public static final String MAVEN_BUILDER_BUFFERED_OUTPUT = "maven.builder.bufferedOutput";
+
+    /**
+     * Number of characters of the buffered output of each project kept in memory, beyond which the output is
+     * written to a temporary file until the project finishes.
+     *
+     * @since 4.0.0
+     */
+    @Config(type = "java.lang.Integer", defaultValue = "1048576")
+    public static final String MAVEN_BUILDER_BUFFERED_OUTPUT_THRESHOLD = "maven.builder.bufferedOutput.threshold";
+
     /**
      * User property for enabling/disabling the consumer POM feature.
      *
@@ -23,6 +23,7 @@
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.apache.maven.api.Service;
@@ -100,6 +101,27 @@ Map<ChecksumAlgorithm, String> calculate(
     Map<ChecksumAlgorithm, String> calculate(@Nonnull Path file, @Nonnull Collection<ChecksumAlgorithm> algorithms)
             throws IOException;
 
+    /**
+     * Calculates checksums for specified files. Implementations may process the files in parallel.
+     *
+     * @param files       The files for which to calculate checksums, must not be {@code null}.
+     * @param algorithms  The checksum algorithms to use, must not be {@code null}.
+     * @return The calculated checksums, indexed by files (in the same order as passed in) and then by algorithms,
+     *         never {@code null}.
+     * @throws NullPointerException if passed in any parameter is {@code null}.
+     * @throws IOException In case of any IO problem.
+     * @since 4.0.0
+     */
+    @Nonnull
+    default Map<Path, Map<ChecksumAlgorithm, String>> calculate(
+            @Nonnull Collection<Path> files, @Nonnull Collection<ChecksumAlgorithm> algorithms) throws IOException {
+        Map<Path, Map<ChecksumAlgorithm, String>> result = new LinkedHashMap<>();
+        for (Path file : files) {
+            result.put(file, calculate(file, algorithms));
+        }
+        return result;
+    }
+
     /**
      * Calculates checksums for specified stream. Upon this method returns, the stream will be depleted (fully read)
      * but not closed.
@@ -24,8 +24,14 @@
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
 import javax.tools.Diagnostic;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
@@ -36,18 +42,28 @@
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
+import org.apache.maven.api.di.Inject;
 import org.apache.maven.api.di.Named;
 
 @SupportedAnnotationTypes("org.apache.maven.api.di.Named")
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
 public class DiIndexProcessor extends AbstractProcessor {
 
+    static final String INDEX = "META-INF/maven/org.apache.maven.api.di.Inject";
+
+    static final String FACTORIES = "META-INF/maven/org.apache.maven.api.di.Factory";
+
     private final Set<String> processedClasses = new HashSet<>();
 
+    private final Map<String, String> generatedFactories = new HashMap<>();
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         logMessage(
@@ -57,12 +73,23 @@ public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment
             if (element instanceof TypeElement typeElement) {
                 String className = getFullClassName(typeElement);
                 processedClasses.add(className);
+                try {
+                    String factoryName = generateFactory(typeElement);
+                    if (factoryName != null) {
+                        generatedFactories.put(className, factoryName);
+                    }
+                } catch (Exception e) {
+                    logError("Error generating factory for " + className, e);
+                }
             }
         }
 
         if (roundEnv.processingOver()) {
             try {
-                updateFileIfChanged();
+                updateFileIfChanged(INDEX, processedClasses);
+                Set<String> factories = new HashSet<>();
+                generatedFactories.forEach((c, f) -> factories.add(c + "=" + f));
+                updateFileIfChanged(FACTORIES, factories);
             } catch (Exception e) {
                 logError("Error updating file", e);
             }
@@ -87,8 +114,109 @@ private String getFullClassName(TypeElement typeElement) {
         return className.toString();
     }
 
-    private void updateFileIfChanged() throws IOException {
-        String path = "META-INF/maven/org.apache.maven.api.di.Inject";
+    /**
+     * Generates a factory creating instances of the given component without reflection, if the component is
+     * created through a constructor accessible from its package.  The factory implements
+     * {@code Function<Object[], Object>} and is given the constructor arguments.
+     *
+     * @return the binary name of the generated factory, or {@code null} if no factory can be generated
+     */
+    private String generateFactory(TypeElement typeElement) throws IOException {
+        ExecutableElement constructor = getFactoryConstructor(typeElement);
+        if (constructor == null) {
+            return null;
+        }
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(typeElement);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String className = getFullClassName(typeElement);
+        String simpleName = (packageName.isEmpty() ? className : className.substring(packageName.length() + 1))
+                        .replace('$', '_')
+                + "_DiFactory";
+        String factoryName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        StringBuilder args = new StringBuilder();
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                args.append(", ");
+            }
+            String type = processingEnv
+                    .getTypeUtils()
+                    .erasure(parameters.get(i).asType())
+                    .toString();
+            args.append('(').append(type).append(") args[").append(i).append(']');
+        }
+
+        FileObject sourceFile = processingEnv.getFiler().createSourceFile(factoryName, typeElement);
+        try (PrintWriter writer = new PrintWriter(sourceFile.openWriter())) {
+            if (!packageName.isEmpty()) {
+                writer.println("package " + packageName + ";");
+                writer.println();
+            }
+            writer.println("/**");
+            writer.println(" * Creates {@link " + typeElement.getQualifiedName() + "} instances without reflection.");
+            writer.println(" * Generated by " + DiIndexProcessor.class.getName() + ".");
+            writer.println(" */");
+            writer.println("public final class " + simpleName
+                    + " implements java.util.function.Function<Object[], Object> {");
+            writer.println("    @Override");
+            writer.println("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            writer.println("    public Object apply(Object[] args) {");
+            writer.println("        return new " + typeElement.getQualifiedName() + "(" + args + ");");
+            writer.println("    }");
+            writer.println("}");
+        }
+        return factoryName;
+    }
+
+    /**
+     * Returns the constructor the injector would use for the given component, if it can be called from a
+     * generated factory in the same package, or {@code null}.
+     */
+    private ExecutableElement getFactoryConstructor(TypeElement typeElement) {
+        if (typeElement.getKind() != ElementKind.CLASS
+                || typeElement.getModifiers().contains(Modifier.ABSTRACT)
+                || !typeElement.getTypeParameters().isEmpty()) {
+            return null;
+        }
+        for (Element e = typeElement; e instanceof TypeElement te; e = e.getEnclosingElement()) {
+            if (te.getModifiers().contains(Modifier.PRIVATE)
+                    || te.getNestingKind() == NestingKind.LOCAL
+                    || te.getNestingKind() == NestingKind.ANONYMOUS
+                    || (te.getNestingKind() == NestingKind.MEMBER
+                            && te.getKind() == ElementKind.CLASS
+                            && !te.getModifiers().contains(Modifier.STATIC))) {
+                return null;
+            }
+        }
+        // static factory methods annotated with @Inject take precedence over constructors
+        for (ExecutableElement method : ElementFilter.methodsIn(typeElement.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.STATIC) && method.getAnnotation(Inject.class) != null) {
+                return null;
+            }
+        }
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(typeElement.getEnclosedElements());
+        List<ExecutableElement> injectConstructors = constructors.stream()
+                .filter(c -> c.getAnnotation(Inject.class) != null)
+                .toList();
+        ExecutableElement constructor;
+        if (injectConstructors.size() == 1) {
+            constructor = injectConstructors.get(0);
+        } else if (injectConstructors.isEmpty() && constructors.size() == 1) {
+            constructor = constructors.get(0);
+        } else {
+            return null;
+        }
+        if (constructor.getModifiers().contains(Modifier.PRIVATE)
+                || !constructor.getThrownTypes().isEmpty()
+                || !constructor.getTypeParameters().isEmpty()
+                || constructor.isVarArgs()) {
+            return null;
+        }
+        return constructor;
+    }
+
+    private void updateFileIfChanged(String path, Set<String> processedEntries) throws IOException {
         Set<String> existingClasses = new TreeSet<>(); // Using TreeSet for natural ordering
         String existingContent = "";
 
@@ -111,7 +239,7 @@ private void updateFileIfChanged() throws IOException {
         }
 
         Set<String> allClasses = new TreeSet<>(existingClasses); // Using TreeSet for natural ordering
-        allClasses.addAll(processedClasses);
+        allClasses.addAll(processedEntries);
 
         StringBuilder newContentBuilder = new StringBuilder();
         for (String className : allClasses) {
@@ -71,6 +71,16 @@ public String getModelId() {
         return this.modelId;
     }
 
+    /**
+     * Gets the sources this input source has been merged from, or {@code null} if it has not been merged.
+     *
+     * @return the merged sources
+     * @since 4.0.0
+     */
+    public List<InputSource> getInputs() {
+        return inputs;
+    }
+
     /**
      * Gets the parent InputLocation where this InputLocation may have been imported from.
      * Can return {@code null}.
@@ -18,12 +18,17 @@
  */
 package org.apache.maven.model;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests {@code Model}.
@@ -62,6 +67,80 @@ void testEqualsIdentity() {
         assertEquals(thing, thing);
     }
 
+    @Test
+    void testPendingListModifications() {
+        Model model = new Model();
+        model.setBuild(new Build());
+        Object delegate = model.getDelegate();
+        for (int i = 0; i < 100; i++) {
+            Dependency dependency = new Dependency();
+            dependency.setArtifactId("a" + i);
+            model.addDependency(dependency);
+            assertEquals("a" + i, model.getDependencies().get(i).getArtifactId());
+            if (i == 51) {
+                dependency.setVersion("2.0");
+            }
+        }
+        // the dependencies are only applied to the delegate when it is read
+        assertSame(delegate, model.delegate);
+
+        model.setVersion("1.0");
+        assertEquals("1.0", model.getVersion());
+        Build build = model.getBuild();
+        build.addResource(new Resource());
+        model.getDependencies().removeIf(d -> d.getArtifactId().endsWith("0"));
+        assertEquals(90, model.getDependencies().size());
+
+        org.apache.maven.api.model.Model api = model.getDelegate();
+        assertEquals("1.0", api.getVersion());
+        assertEquals(1, api.getBuild().getResources().size());
+        assertEquals(90, api.getDependencies().size());
+        assertEquals("a51", api.getDependencies().get(45).getArtifactId());
+        assertEquals("2.0", api.getDependencies().get(45).getVersion());
+    }
+
+    @Test
+    void testPendingListModificationsReadConcurrently() throws Exception {
+        Model model = new Model();
+        int count = 10_000;
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                int size = 0;
+                while (!done.get()) {
+                    int next = model.getDelegate().getDependencies().size();
+                    assertTrue(next >= size, "the dependencies added by the other thread must not be lost");
+                    size = next;
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < count; i++) {
+                Dependency dependency = new Dependency();
+                dependency.setArtifactId("a" + i);
+                model.addDependency(dependency);
+                if (i % 1000 == 0) {
+                    model.setVersion(String.valueOf(i));
+                }
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+
+        // read from another thread than the one which added the dependencies
+        assertEquals(count, model.getDelegate().getDependencies().size());
+        assertEquals(count, model.getDependencies().size());
+        assertEquals("9000", model.getDelegate().getVersion());
+    }
+
     @Test
     void testToStringNullSafe() {
         assertNotNull(new Model().toString());
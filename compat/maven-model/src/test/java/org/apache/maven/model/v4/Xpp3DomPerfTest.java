@@ -25,11 +25,14 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.internal.xml.XmlNodeImpl;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
@@ -66,6 +69,49 @@ public void setUp() throws IOException {
         }
     }
 
+    @State(Scope.Benchmark)
+    public static class MergeState {
+        XmlNode dominant;
+        XmlNode recessive;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // a plugin configuration as declared in a project, and the one inherited from pluginManagement
+            dominant = configuration(0, 40, "dominant");
+            recessive = configuration(20, 60, "recessive");
+        }
+
+        private static XmlNode configuration(int from, int to, String value) {
+            List<XmlNode> children = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                List<XmlNode> items = List.of(new XmlNodeImpl("item", value + i), new XmlNodeImpl("item", "x"));
+                children.add(new XmlNodeImpl("param" + i, null, null, items, null));
+            }
+            return new XmlNodeImpl("configuration", null, null, children, null);
+        }
+    }
+
+    @Benchmark
+    public XmlNode mergeConfigurations(MergeState state) {
+        return state.dominant.merge(state.recessive);
+    }
+
+    @Benchmark
+    public XmlNode mergeUnchangedConfiguration(MergeState state) {
+        return state.dominant.merge(state.dominant);
+    }
+
+    @Benchmark
+    public int getChildren(MergeState state) {
+        int i = 0;
+        for (XmlNode child : state.recessive.getChildren()) {
+            if (state.dominant.getChild(child.getName()) != null) {
+                i++;
+            }
+        }
+        return i;
+    }
+
     @Benchmark
     public int readWithStax(AdditionState state) throws IOException, XMLStreamException {
         int i = 0;
@@ -120,6 +120,16 @@ public PluginDescriptor build(StreamSupplier inputSupplier, String source) throw
         }
     }
 
+    /**
+     * Builds a plugin descriptor from an already parsed {@code plugin.xml} using the legacy format,
+     * i.e. not using the {@link #PLUGIN_2_0_0} namespace.
+     *
+     * @since 4.0.0
+     */
+    public PluginDescriptor build(XmlNode node, String source) throws PlexusConfigurationException {
+        return build(source, XmlPlexusConfiguration.toPlexusConfiguration(node));
+    }
+
     private static BufferedInputStream reset(StreamSupplier inputSupplier, BufferedInputStream bis) throws IOException {
         try {
             bis.reset();
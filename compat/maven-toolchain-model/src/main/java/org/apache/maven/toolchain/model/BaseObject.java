@@ -18,7 +18,15 @@
  */
 package org.apache.maven.toolchain.model;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
@@ -27,6 +35,13 @@ public abstract class BaseObject implements Serializable, Cloneable {
 
     protected Object delegate;
 
+    private transient volatile Map<String, PendingList<?>> pendingLists;
+
+    /**
+     * The thread which started modifying the pending lists, and which is the only one to apply them.
+     */
+    private transient Thread pendingThread;
+
     public BaseObject() {}
 
     public BaseObject(Object delegate, BaseObject parent) {
@@ -40,6 +55,27 @@ public BaseObject(Object delegate, ChildrenTracking parent) {
     }
 
     public Object getDelegate() {
+        if (pendingLists != null) {
+            synchronized (this) {
+                Map<String, PendingList<?>> lists = pendingLists;
+                if (lists != null) {
+                    if (pendingThread != Thread.currentThread()) {
+                        // the thread modifying the lists may also be modifying the other fields of the delegate,
+                        // so the other threads do not replace the delegate, but read a copy with the modifications
+                        Object copy = delegate;
+                        for (PendingList<?> pending : lists.values()) {
+                            copy = pending.apply(copy);
+                        }
+                        return copy;
+                    }
+                    for (PendingList<?> pending : lists.values()) {
+                        update(pending.apply(delegate));
+                    }
+                    pendingLists = null;
+                    pendingThread = null;
+                }
+            }
+        }
         return delegate;
     }
 
@@ -52,10 +88,73 @@ public void update(Object newDelegate) {
         }
     }
 
+    /**
+     * Returns the mutable list holding the pending modifications of the given list, creating it if needed,
+     * or {@code null} if the modifications must be applied immediately.  The modifications of the lists of an
+     * object without parent are only applied when its delegate is read by {@link #getDelegate()}, so that adding
+     * many elements one by one does not copy the whole list for each element.  The other fields of the delegate
+     * are not affected by the pending lists, and can be read or modified meanwhile.  The lists of an object with
+     * a parent are modified immediately, as the parent would not see the pending modifications.
+     * <p>
+     * The pending lists are only applied by the thread which created them, the other threads reading the delegate
+     * get a copy with the pending modifications.  This method must be called while holding the monitor of this
+     * object, which guards the pending lists.
+     *
+     * @param wither creates a copy of the given delegate with the given list
+     */
+    <U> List<U> pendingList(String key, Supplier<List<U>> getter, BiFunction<Object, List<U>, Object> wither) {
+        if (childrenTracking != null) {
+            return null;
+        }
+        List<U> list = pendingList(key);
+        if (list == null) {
+            list = new ArrayList<>(getter.get());
+            Map<String, PendingList<?>> lists = pendingLists;
+            if (lists == null) {
+                lists = new LinkedHashMap<>();
+                pendingThread = Thread.currentThread();
+            }
+            lists.put(key, new PendingList<>(list, wither));
+            pendingLists = lists;
+        }
+        return list;
+    }
+
+    /**
+     * Returns the mutable list holding the pending modifications of the given list, or {@code null}.
+     * This method must be called while holding the monitor of this object.
+     */
+    @SuppressWarnings("unchecked")
+    <U> List<U> pendingList(String key) {
+        Map<String, PendingList<?>> lists = pendingLists;
+        PendingList<?> pending = lists != null ? lists.get(key) : null;
+        return pending != null ? (List<U>) pending.list() : null;
+    }
+
+    /**
+     * Returns whether the pending lists have been created by the current thread, which can thus read them
+     * without holding the monitor of this object.
+     */
+    boolean isPendingThread() {
+        return pendingThread == Thread.currentThread();
+    }
+
     protected boolean replace(Object oldDelegate, Object newDelegate) {
         return false;
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("delegate", getDelegate());
+        out.writeFields();
+    }
+
+    private record PendingList<U>(List<U> list, BiFunction<Object, List<U>, Object> wither) {
+        Object apply(Object delegate) {
+            return wither.apply(delegate, list);
+        }
+    }
+
     @FunctionalInterface
     protected interface ChildrenTracking {
         boolean replace(Object oldDelegate, Object newDelegate);
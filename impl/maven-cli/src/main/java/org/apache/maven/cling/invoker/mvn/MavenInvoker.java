@@ -61,17 +61,23 @@
 import org.apache.maven.execution.MavenExecutionResult;
 import org.apache.maven.execution.ProfileActivation;
 import org.apache.maven.execution.ProjectActivation;
+import org.apache.maven.jline.FastTerminal;
 import org.apache.maven.jline.MessageUtils;
 import org.apache.maven.lifecycle.LifecycleExecutionException;
+import org.apache.maven.logging.BufferedBuildEventListener;
 import org.apache.maven.logging.BuildEventListener;
 import org.apache.maven.logging.LoggingExecutionListener;
 import org.apache.maven.logging.MavenTransferListener;
 import org.apache.maven.logging.ProjectBuildLogAppender;
 import org.apache.maven.logging.SimpleBuildEventListener;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.slf4j.MavenSimpleLogger;
 import org.codehaus.plexus.PlexusContainer;
 import org.eclipse.aether.DefaultRepositoryCache;
 import org.eclipse.aether.transfer.TransferListener;
+import org.jline.terminal.Terminal;
+import org.jline.utils.AttributedString;
+import org.jline.utils.Status;
 
 import static java.util.Comparator.comparing;
 import static org.apache.maven.cling.invoker.Utils.toProperties;
@@ -163,10 +169,56 @@ protected BuildEventListener determineBuildEventListener(C context) {
     }
 
     protected BuildEventListener doDetermineBuildEventListener(C context) {
-        Consumer<String> writer = determineWriter(context);
+        // the pending messages are written before the writer is closed, as the closeables are closed in reverse order
+        Consumer<String> writer = MavenSimpleLogger.asyncOutput(determineWriter(context));
+        context.closeables.add(MavenSimpleLogger::flushAsyncOutput);
+        Map<String, String> userProperties = context.invokerRequest.userProperties();
+        if (Boolean.parseBoolean(userProperties.get(Constants.MAVEN_BUILDER_BUFFERED_OUTPUT))) {
+            int threshold = determineBufferedOutputThreshold(
+                    userProperties.get(Constants.MAVEN_BUILDER_BUFFERED_OUTPUT_THRESHOLD));
+            BufferedBuildEventListener listener =
+                    new BufferedBuildEventListener(writer, determineStatusWriter(context), threshold);
+            context.closeables.add(listener);
+            return listener;
+        }
         return new SimpleBuildEventListener(writer);
     }
 
+    protected int determineBufferedOutputThreshold(String thresholdConfiguration) {
+        if (thresholdConfiguration == null) {
+            return BufferedBuildEventListener.DEFAULT_THRESHOLD;
+        }
+        try {
+            int threshold = Integer.parseInt(thresholdConfiguration.trim());
+            if (threshold < 0) {
+                throw new IllegalArgumentException("Invalid buffered output threshold value: '"
+                        + thresholdConfiguration + "'. Value must not be negative.");
+            }
+            return threshold;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid buffered output threshold value: '" + thresholdConfiguration
+                    + "'. Supported are int values.");
+        }
+    }
+
+    /**
+     * Returns the consumer displaying the status line of the build in the status bar of the terminal, or
+     * {@code null} if the output is redirected to a file.  The status line is not displayed by the terminals
+     * which do not support it.
+     */
+    protected Consumer<String> determineStatusWriter(C context) {
+        if (context.invokerRequest.options().logFile().isPresent()) {
+            return null;
+        }
+        return line -> {
+            Terminal terminal = context.terminal instanceof FastTerminal ft ? ft.getTerminal() : context.terminal;
+            Status status = Status.getStatus(terminal, !line.isEmpty());
+            if (status != null) {
+                status.update(line.isEmpty() ? List.of() : List.of(new AttributedString(line)));
+            }
+        };
+    }
+
     @Override
     protected void customizeSettingsRequest(C context, SettingsBuilderRequest settingsBuilderRequest) {
         if (context.eventSpyDispatcher != null) {
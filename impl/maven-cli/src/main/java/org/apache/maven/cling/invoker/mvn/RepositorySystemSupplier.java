@@ -54,6 +54,7 @@
 import org.apache.maven.internal.impl.resolver.DefaultVersionRangeResolver;
 import org.apache.maven.internal.impl.resolver.DefaultVersionResolver;
 import org.apache.maven.internal.impl.resolver.MavenArtifactRelocationSource;
+import org.apache.maven.internal.impl.resolver.MetadataVersioningCache;
 import org.apache.maven.internal.impl.resolver.PluginsMetadataGeneratorFactory;
 import org.apache.maven.internal.impl.resolver.SnapshotMetadataGeneratorFactory;
 import org.apache.maven.internal.impl.resolver.VersionsMetadataGeneratorFactory;
@@ -991,6 +992,20 @@ protected ArtifactDescriptorReader createArtifactDescriptorReader() {
                 getMavenArtifactRelocationSources());
     }
 
+    private MetadataVersioningCache metadataVersioningCache;
+
+    public final MetadataVersioningCache getMetadataVersioningCache() {
+        checkClosed();
+        if (metadataVersioningCache == null) {
+            metadataVersioningCache = createMetadataVersioningCache();
+        }
+        return metadataVersioningCache;
+    }
+
+    protected MetadataVersioningCache createMetadataVersioningCache() {
+        return new MetadataVersioningCache();
+    }
+
     private VersionResolver versionResolver;
 
     public final VersionResolver getVersionResolver() {
@@ -1004,7 +1019,10 @@ public final VersionResolver getVersionResolver() {
     protected VersionResolver createVersionResolver() {
         // from maven-resolver-provider
         return new DefaultVersionResolver(
-                getMetadataResolver(), getSyncContextFactory(), getRepositoryEventDispatcher());
+                getMetadataResolver(),
+                getSyncContextFactory(),
+                getRepositoryEventDispatcher(),
+                getMetadataVersioningCache());
     }
 
     private VersionRangeResolver versionRangeResolver;
@@ -1020,7 +1038,11 @@ public final VersionRangeResolver getVersionRangeResolver() {
     protected VersionRangeResolver createVersionRangeResolver() {
         // from maven-resolver-provider
         return new DefaultVersionRangeResolver(
-                getMetadataResolver(), getSyncContextFactory(), getRepositoryEventDispatcher(), getVersionScheme());
+                getMetadataResolver(),
+                getSyncContextFactory(),
+                getRepositoryEventDispatcher(),
+                getVersionScheme(),
+                getMetadataVersioningCache());
     }
 
     private ModelBuilder modelBuilder;
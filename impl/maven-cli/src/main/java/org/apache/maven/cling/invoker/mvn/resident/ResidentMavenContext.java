@@ -21,6 +21,7 @@
 import org.apache.maven.api.cli.InvokerException;
 import org.apache.maven.api.cli.InvokerRequest;
 import org.apache.maven.cling.invoker.mvn.MavenContext;
+import org.apache.maven.slf4j.MavenSimpleLogger;
 
 public class ResidentMavenContext extends MavenContext {
 
@@ -28,9 +29,21 @@ protected ResidentMavenContext(InvokerRequest invokerRequest) {
         super(invokerRequest);
     }
 
+    /**
+     * Called when the invocation using this context completes, to give the context back to its pool.
+     */
+    protected Runnable releaser;
+
     @Override
     public void close() throws InvokerException {
-        // we are resident, we do not shut down here
+        // we are resident, we do not shut down here, but the closeables are not closed either, so the output
+        // still queued by the logger is written now, before the next invocation may use this context
+        MavenSimpleLogger.flushAsyncOutput();
+        Runnable r = releaser;
+        releaser = null;
+        if (r != null) {
+            r.run();
+        }
     }
 
     public void shutDown() throws InvokerException {
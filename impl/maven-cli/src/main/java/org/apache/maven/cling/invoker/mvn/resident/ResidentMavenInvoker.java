@@ -18,32 +18,201 @@
  */
 package org.apache.maven.cling.invoker.mvn.resident;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.apache.maven.api.Constants;
 import org.apache.maven.api.cli.InvokerException;
 import org.apache.maven.api.cli.InvokerRequest;
+import org.apache.maven.api.cli.extensions.CoreExtension;
+import org.apache.maven.api.services.model.ModelCacheFactory;
 import org.apache.maven.cling.invoker.ProtoLookup;
 import org.apache.maven.cling.invoker.mvn.MavenInvoker;
+import org.apache.maven.internal.impl.model.DefaultModelCacheFactory;
 
 /**
- * Resident invoker implementation, similar to "local", but keeps Maven instance resident. This implies, that
- * things like environment, system properties, extensions etc. are loaded only once. It is caller duty to ensure
- * that subsequent call is right for the resident instance (ie no env change or different extension needed).
+ * Resident invoker implementation, similar to "local", but keeps Maven instances resident. This implies, that
+ * things like environment, system properties, extensions etc. are loaded only once per context. The invoker keeps
+ * a pool of warm contexts keyed by the effective configuration of the invocation (Maven installation, root
+ * directory, settings files, core extensions and JVM configuration), so that invocations for different projects
+ * can be served by the same process. It is still caller duty to ensure that subsequent calls do not need other
+ * changes (ie no env change).
+ * <p>
+ * Idle contexts are shut down by a background thread once they exceed the idle timeout of the last invocation.
+ * <p>
+ * The invocations are serialized, even when they use different contexts, as Maven pushes the user properties
+ * of an invocation to the system properties and installs a global log sink.
  */
 public class ResidentMavenInvoker extends MavenInvoker<ResidentMavenContext> {
 
-    private final ConcurrentHashMap<String, ResidentMavenContext> residentContext;
+    private static final int DEFAULT_MODEL_CACHE_SIZE = 10000;
+
+    private static final int DEFAULT_MAX_CONTEXTS = 4;
+
+    private static final long DEFAULT_IDLE_TIMEOUT = 1800;
+
+    /**
+     * The period in seconds at which the idle contexts are looked for.
+     */
+    private static final long REAPER_PERIOD = 60;
+
+    /**
+     * Serializes the invocations, as well as the shut down of the evicted contexts, see the class documentation.
+     */
+    private final ReentrantLock invocationLock = new ReentrantLock();
+
+    private final ScheduledExecutorService reaper;
+
+    /**
+     * The maximum number of contexts and idle timeout in nanoseconds of the last invocation, used by the reaper.
+     */
+    private volatile int maxContexts = DEFAULT_MAX_CONTEXTS;
+
+    private volatile long idleTimeout = TimeUnit.SECONDS.toNanos(DEFAULT_IDLE_TIMEOUT);
+
+    /**
+     * The pooled contexts, in least recently used order. Guarded by itself.
+     */
+    private final LinkedHashMap<String, PooledContext> residentContext;
 
     public ResidentMavenInvoker(ProtoLookup protoLookup) {
         super(protoLookup);
-        this.residentContext = new ConcurrentHashMap<>();
+        this.residentContext = new LinkedHashMap<>(16, 0.75f, true);
+        this.reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "maven-resident-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.reaper.scheduleWithFixedDelay(this::reap, REAPER_PERIOD, REAPER_PERIOD, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public int invoke(InvokerRequest invokerRequest) throws InvokerException {
+        invocationLock.lock();
+        try {
+            return super.invoke(invokerRequest);
+        } finally {
+            invocationLock.unlock();
+        }
     }
 
     @Override
     public void close() throws InvokerException {
+        reaper.shutdownNow();
+        List<ResidentMavenContext> contexts;
+        synchronized (residentContext) {
+            contexts = residentContext.values().stream().map(c -> c.context).toList();
+            residentContext.clear();
+        }
+        shutDown(contexts);
+    }
+
+    @Override
+    protected ResidentMavenContext createContext(InvokerRequest invokerRequest) throws InvokerException {
+        String contextId = getContextId(invokerRequest);
+        List<ResidentMavenContext> evicted = new ArrayList<>();
+        ResidentMavenContext context;
+        synchronized (residentContext) {
+            PooledContext pooled =
+                    residentContext.computeIfAbsent(contextId, k -> new PooledContext(newContext(invokerRequest)));
+            pooled.inUse++;
+            pooled.lastUsed = System.nanoTime();
+            maxContexts = Math.max(
+                    1, getConfig(invokerRequest, Constants.MAVEN_RESIDENT_MAX_CONTEXTS, DEFAULT_MAX_CONTEXTS));
+            idleTimeout = TimeUnit.SECONDS.toNanos(
+                    getConfig(invokerRequest, Constants.MAVEN_RESIDENT_IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT));
+            evict(evicted);
+            context = pooled.context.copy(invokerRequest);
+            context.releaser = () -> {
+                synchronized (residentContext) {
+                    pooled.inUse--;
+                    pooled.lastUsed = System.nanoTime();
+                }
+            };
+        }
+        shutDown(evicted);
+        return context;
+    }
+
+    protected ResidentMavenContext newContext(InvokerRequest invokerRequest) {
+        return new ResidentMavenContext(invokerRequest);
+    }
+
+    /**
+     * Shuts down the contexts which have been idle for too long. The contexts are only shut down between
+     * invocations, as shutting down a context also resets global state.
+     */
+    protected void reap() {
+        if (!invocationLock.tryLock()) {
+            // retried at the next period
+            return;
+        }
+        try {
+            List<ResidentMavenContext> evicted = new ArrayList<>();
+            synchronized (residentContext) {
+                evict(evicted);
+            }
+            shutDown(evicted);
+        } catch (RuntimeException e) {
+            // the reaper must keep running, and there is no invocation to report the failure to
+        } finally {
+            invocationLock.unlock();
+        }
+    }
+
+    /**
+     * Removes from the pool the contexts which have been idle for too long, and the least recently used idle
+     * contexts in excess of the maximum number of contexts. Contexts used by running invocations are kept.
+     */
+    private void evict(List<ResidentMavenContext> evicted) {
+        int maxContexts = this.maxContexts;
+        long idleTimeout = this.idleTimeout;
+        long now = System.nanoTime();
+        int size = residentContext.size();
+        for (Iterator<PooledContext> it = residentContext.values().iterator(); it.hasNext(); ) {
+            PooledContext pooled = it.next();
+            if (pooled.inUse == 0 && (size > maxContexts || (idleTimeout > 0 && now - pooled.lastUsed > idleTimeout))) {
+                it.remove();
+                evicted.add(pooled.context);
+                size--;
+            }
+        }
+    }
+
+    private static long getConfig(InvokerRequest invokerRequest, String key, long defaultValue) {
+        String value = invokerRequest.userProperties().get(key);
+        if (value == null) {
+            value = invokerRequest.systemProperties().get(key);
+        }
+        try {
+            return value != null ? Long.parseLong(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static int getConfig(InvokerRequest invokerRequest, String key, int defaultValue) {
+        return (int) getConfig(invokerRequest, key, (long) defaultValue);
+    }
+
+    private static void shutDown(List<ResidentMavenContext> contexts) throws InvokerException {
         ArrayList<InvokerException> exceptions = new ArrayList<>();
-        for (ResidentMavenContext context : residentContext.values()) {
+        for (ResidentMavenContext context : contexts) {
             try {
                 context.shutDown();
             } catch (InvokerException e) {
@@ -57,17 +226,55 @@ public void close() throws InvokerException {
         }
     }
 
-    @Override
-    protected ResidentMavenContext createContext(InvokerRequest invokerRequest) {
-        return residentContext
-                .computeIfAbsent(getContextId(invokerRequest), k -> new ResidentMavenContext(invokerRequest))
-                .copy(invokerRequest);
+    /**
+     * Returns the identifier of the context to use for the given invocation: a hash of the configuration which
+     * is loaded once per context, ie the Maven installation, the root directory, the settings files, the core
+     * extensions and the JVM configuration.
+     */
+    protected String getContextId(InvokerRequest invokerRequest) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("installation=").append(invokerRequest.installationDirectory()).append('\n');
+        sb.append("userHome=").append(invokerRequest.userHomeDirectory()).append('\n');
+        sb.append("root=")
+                .append(invokerRequest.rootDirectory().orElse(invokerRequest.topDirectory()))
+                .append('\n');
+
+        // settings: explicit files, and the default ones which may appear or change between invocations
+        appendSettings(sb, invokerRequest, invokerRequest.options().altInstallationSettings());
+        appendSettings(sb, invokerRequest, invokerRequest.options().altProjectSettings());
+        appendSettings(sb, invokerRequest, invokerRequest.options().altUserSettings());
+        appendFile(sb, invokerRequest.installationDirectory().resolve("conf/settings.xml"));
+        appendFile(sb, invokerRequest.userHomeDirectory().resolve(".m2/settings.xml"));
+        invokerRequest.rootDirectory().ifPresent(root -> appendFile(sb, root.resolve(".mvn/settings.xml")));
+
+        for (CoreExtension extension : invokerRequest.coreExtensions().orElse(List.of())) {
+            sb.append("extension=").append(extension.getId()).append('\n');
+        }
+        for (String jvmArgument : invokerRequest.jvmArguments().orElse(List.of())) {
+            sb.append("jvm=").append(jvmArgument).append('\n');
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return sb.toString();
+        }
     }
 
-    protected String getContextId(InvokerRequest invokerRequest) {
-        // TODO: in a moment Maven stop pushing user properties to system properties (and maybe something more)
-        // and allow multiple instances per JVM, this may become a pool?
-        return "resident";
+    private static void appendSettings(StringBuilder sb, InvokerRequest invokerRequest, Optional<String> settings) {
+        settings.ifPresent(s -> appendFile(sb, invokerRequest.cwd().resolve(s)));
+    }
+
+    private static void appendFile(StringBuilder sb, Path file) {
+        sb.append("file=").append(file.toAbsolutePath().normalize());
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            sb.append(';').append(attributes.size()).append(';').append(attributes.lastModifiedTime());
+        } catch (IOException e) {
+            sb.append(";missing");
+        }
+        sb.append('\n');
     }
 
     @Override
@@ -81,6 +288,22 @@ protected void container(ResidentMavenContext context) throws Exception {
     protected void lookup(ResidentMavenContext context) throws Exception {
         if (context.maven == null) {
             super.lookup(context);
+            // share the model cache across invocations, unless configured otherwise
+            context.lookup
+                    .lookupOptional(ModelCacheFactory.class)
+                    .filter(DefaultModelCacheFactory.class::isInstance)
+                    .map(DefaultModelCacheFactory.class::cast)
+                    .ifPresent(factory -> factory.setDefaultResidentSize(DEFAULT_MODEL_CACHE_SIZE));
+        }
+    }
+
+    private static final class PooledContext {
+        final ResidentMavenContext context;
+        int inUse;
+        long lastUsed;
+
+        PooledContext(ResidentMavenContext context) {
+            this.context = context;
         }
     }
 }
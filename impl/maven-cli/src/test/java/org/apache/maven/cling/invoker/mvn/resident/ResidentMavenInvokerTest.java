@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.cling.invoker.mvn.resident;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.api.cli.InvokerRequest;
+import org.apache.maven.api.cli.Options;
+import org.apache.maven.api.cli.ParserRequest;
+import org.apache.maven.api.cli.extensions.CoreExtension;
+import org.apache.maven.cling.invoker.ProtoLogger;
+import org.apache.maven.cling.invoker.ProtoLookup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the pool of contexts of {@link ResidentMavenInvoker}, with contexts which are not initialized.
+ */
+class ResidentMavenInvokerTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<TestContext> created = new ArrayList<>();
+
+    private final List<TestContext> shutDown = new ArrayList<>();
+
+    private ResidentMavenInvoker invoker;
+
+    @BeforeEach
+    void setUp() {
+        invoker = new ResidentMavenInvoker(ProtoLookup.builder().build()) {
+            @Override
+            protected ResidentMavenContext newContext(InvokerRequest invokerRequest) {
+                TestContext context = new TestContext(invokerRequest);
+                created.add(context);
+                return context;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        invoker.close();
+    }
+
+    @Test
+    void testContextId() throws Exception {
+        Path root = Files.createDirectories(directory.resolve("project"));
+        String id = invoker.getContextId(request(root, Map.of(), List.of(), List.of()));
+        assertEquals(id, invoker.getContextId(request(root, Map.of(), List.of(), List.of())));
+
+        // the user properties are given to each invocation
+        assertEquals(id, invoker.getContextId(request(root, Map.of("a", "b"), List.of(), List.of())));
+
+        assertNotEquals(id, invoker.getContextId(request(directory, Map.of(), List.of(), List.of())));
+        assertNotEquals(
+                invoker.getContextId(request(root, Map.of(), List.of("-Xmx1g"), List.of())),
+                invoker.getContextId(request(root, Map.of(), List.of("-Xmx2g"), List.of())));
+        assertNotEquals(
+                invoker.getContextId(request(root, Map.of(), List.of(), List.of(extension("1.0")))),
+                invoker.getContextId(request(root, Map.of(), List.of(), List.of(extension("2.0")))));
+
+        Path settings = Files.createDirectories(directory.resolve("home/.m2")).resolve("settings.xml");
+        Files.writeString(settings, "<settings/>");
+        String withSettings = invoker.getContextId(request(root, Map.of(), List.of(), List.of()));
+        assertNotEquals(id, withSettings);
+        // same size, modified later
+        Files.writeString(settings, "<settings >");
+        Files.setLastModifiedTime(
+                settings, FileTime.fromMillis(Files.getLastModifiedTime(settings).toMillis() + 10_000));
+        assertNotEquals(withSettings, invoker.getContextId(request(root, Map.of(), List.of(), List.of())));
+    }
+
+    @Test
+    void testLeastRecentlyUsedContextsEvicted() throws Exception {
+        Map<String, String> properties = Map.of(Constants.MAVEN_RESIDENT_MAX_CONTEXTS, "2");
+        invoker.createContext(request(root("a"), properties)).close();
+        invoker.createContext(request(root("b"), properties)).close();
+        invoker.createContext(request(root("a"), properties)).close();
+        assertEquals(2, created.size());
+        assertTrue(shutDown.isEmpty());
+
+        // b is the least recently used context
+        invoker.createContext(request(root("c"), properties)).close();
+        assertEquals(3, created.size());
+        assertEquals(List.of(created.get(1)), shutDown);
+
+        invoker.createContext(request(root("a"), properties)).close();
+        assertEquals(3, created.size());
+    }
+
+    @Test
+    void testContextsInUseNotEvicted() throws Exception {
+        Map<String, String> properties = Map.of(Constants.MAVEN_RESIDENT_MAX_CONTEXTS, "1");
+        ResidentMavenContext a = invoker.createContext(request(root("a"), properties));
+        ResidentMavenContext b = invoker.createContext(request(root("b"), properties));
+        assertEquals(2, created.size());
+        assertTrue(shutDown.isEmpty());
+
+        // the releaser gives the context back to the pool, from which it can now be evicted
+        a.close();
+        b.close();
+        assertTrue(shutDown.isEmpty());
+        ResidentMavenContext c = invoker.createContext(request(root("c"), properties));
+        assertEquals(List.of(created.get(0), created.get(1)), shutDown);
+
+        // the releaser runs only once, so that c is not pinned nor evicted while in use
+        c.close();
+        c.close();
+        ResidentMavenContext d = invoker.createContext(request(root("d"), properties));
+        assertEquals(List.of(created.get(0), created.get(1), created.get(2)), shutDown);
+        d.close();
+    }
+
+    @Test
+    void testSameContextCopied() throws Exception {
+        InvokerRequest first = request(root("a"), Map.of());
+        InvokerRequest second = request(root("a"), Map.of("a", "b"));
+        ResidentMavenContext context1 = invoker.createContext(first);
+        context1.close();
+        ResidentMavenContext context2 = invoker.createContext(second);
+        context2.close();
+        assertEquals(1, created.size());
+        assertSame(first, context1.invokerRequest);
+        assertSame(second, context2.invokerRequest);
+        assertNotSame(context1, context2);
+    }
+
+    @Test
+    void testIdleContextsReaped() throws Exception {
+        Map<String, String> properties = Map.of(Constants.MAVEN_RESIDENT_IDLE_TIMEOUT, "1");
+        invoker.createContext(request(root("a"), properties)).close();
+        ResidentMavenContext b = invoker.createContext(request(root("b"), properties));
+
+        invoker.reap();
+        assertTrue(shutDown.isEmpty());
+
+        Thread.sleep(1100);
+        invoker.reap();
+        assertEquals(List.of(created.get(0)), shutDown);
+
+        // the context in use is only reaped once released and idle
+        b.close();
+        invoker.reap();
+        assertEquals(1, shutDown.size());
+    }
+
+    private static CoreExtension extension(String version) {
+        return CoreExtension.newBuilder()
+                .groupId("org.example")
+                .artifactId("extension")
+                .version(version)
+                .build();
+    }
+
+    private Path root(String name) throws Exception {
+        return Files.createDirectories(directory.resolve(name));
+    }
+
+    private InvokerRequest request(Path root, Map<String, String> userProperties) {
+        return request(root, userProperties, List.of(), List.of());
+    }
+
+    private InvokerRequest request(
+            Path root, Map<String, String> userProperties, List<String> jvmArguments, List<CoreExtension> extensions) {
+        ParserRequest parserRequest = stub(ParserRequest.class, Map.of("logger", new ProtoLogger()));
+        Map<String, Object> values = new HashMap<>();
+        values.put("parserRequest", parserRequest);
+        values.put("cwd", root);
+        values.put("installationDirectory", directory.resolve("maven"));
+        values.put("userHomeDirectory", directory.resolve("home"));
+        values.put("topDirectory", root);
+        values.put("rootDirectory", Optional.of(root));
+        values.put("userProperties", userProperties);
+        values.put("systemProperties", Map.of());
+        values.put("jvmArguments", Optional.of(jvmArguments));
+        values.put("coreExtensions", Optional.of(extensions));
+        values.put("options", stub(Options.class, Map.of()));
+        return stub(InvokerRequest.class, values);
+    }
+
+    /**
+     * Creates an implementation of the given interface returning the given values, and empty optional values
+     * for the other methods.
+     */
+    private static <T> T stub(Class<T> type, Map<String, Object> values) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (values.containsKey(method.getName())) {
+                return values.get(method.getName());
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.getSimpleName();
+                default -> {
+                    if (method.isDefault()) {
+                        yield InvocationHandler.invokeDefault(proxy, method, args);
+                    }
+                    if (method.getReturnType() == Optional.class) {
+                        yield Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }
+            };
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private final class TestContext extends ResidentMavenContext {
+        TestContext(InvokerRequest invokerRequest) {
+            super(invokerRequest);
+        }
+
+        @Override
+        public void shutDown() {
+            shutDown.add(this);
+        }
+    }
+}
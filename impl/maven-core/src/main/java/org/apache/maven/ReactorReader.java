@@ -25,10 +25,13 @@
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
@@ -77,12 +80,14 @@ class ReactorReader implements MavenWorkspaceReader {
 
     private final MavenSession session;
     private final WorkspaceRepository repository;
-    // groupId -> (artifactId -> (version -> project)))
-    private Map<String, Map<String, Map<String, MavenProject>>> projects;
-    private Map<String, Map<String, Map<String, MavenProject>>> allProjects;
+    // groupId:artifactId -> (version -> project)
+    private volatile Map<String, Map<String, MavenProject>> projects;
+    private volatile Map<String, Map<String, MavenProject>> allProjects;
     private Path projectLocalRepository;
     // projectId -> Deque<lifecycle>
     private final Map<String, Deque<String>> lifecycles = new ConcurrentHashMap<>();
+    // output directory -> fingerprint, invalidated when a mojo of the owning project starts or ends
+    private final Map<Path, OutputFingerprint> outputFingerprints = new ConcurrentHashMap<>();
 
     @Inject
     ReactorReader(MavenSession session) {
@@ -119,21 +124,14 @@ public File findArtifact(Artifact artifact) {
     }
 
     public List<String> findVersions(Artifact artifact) {
-        List<String> versions = getProjects()
-                .getOrDefault(artifact.getGroupId(), Collections.emptyMap())
-                .getOrDefault(artifact.getArtifactId(), Collections.emptyMap())
-                .values()
-                .stream()
+        String key = versionlessKey(artifact.getGroupId(), artifact.getArtifactId());
+        List<String> versions = getProjects().getOrDefault(key, Collections.emptyMap()).values().stream()
                 .map(MavenProject::getVersion)
                 .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
         if (!versions.isEmpty()) {
             return versions;
         }
-        return getAllProjects()
-                .getOrDefault(artifact.getGroupId(), Collections.emptyMap())
-                .getOrDefault(artifact.getArtifactId(), Collections.emptyMap())
-                .values()
-                .stream()
+        return getAllProjects().getOrDefault(key, Collections.emptyMap()).values().stream()
                 .filter(p -> Objects.nonNull(findArtifact(p, artifact, false)))
                 .map(MavenProject::getVersion)
                 .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
@@ -215,11 +213,7 @@ private File determineBuildOutputDirectoryForArtifact(final MavenProject project
 
     private boolean isPackagedArtifactUpToDate(MavenProject project, File packagedArtifactFile) {
         Path outputDirectory = Paths.get(project.getBuild().getOutputDirectory());
-        if (!outputDirectory.toFile().exists()) {
-            return true;
-        }
-
-        try (Stream<Path> outputFiles = Files.walk(outputDirectory)) {
+        try {
             // Not using File#lastModified() to avoid a Linux JDK8 milliseconds precision bug: JDK-8177809.
             long artifactLastModified =
                     Files.getLastModifiedTime(packagedArtifactFile.toPath()).toMillis();
@@ -232,21 +226,13 @@ private boolean isPackagedArtifactUpToDate(MavenProject project, File packagedAr
                 }
             }
 
-            for (Path outputFile : (Iterable<Path>) outputFiles::iterator) {
-                if (Files.isDirectory(outputFile)) {
-                    continue;
-                }
-
-                long outputFileLastModified =
-                        Files.getLastModifiedTime(outputFile).toMillis();
-                if (outputFileLastModified > artifactLastModified) {
-                    LOGGER.warn(
-                            "File '{}' is more recent than the packaged artifact for '{}', "
-                                    + "please run a full `mvn package` build",
-                            relativizeOutputFile(outputFile),
-                            project.getArtifactId());
-                    return true;
-                }
+            OutputFingerprint fingerprint = getOutputFingerprint(outputDirectory);
+            if (fingerprint.newestFile() != null && fingerprint.newestLastModified() > artifactLastModified) {
+                LOGGER.warn(
+                        "File '{}' is more recent than the packaged artifact for '{}', "
+                                + "please run a full `mvn package` build",
+                        relativizeOutputFile(fingerprint.newestFile()),
+                        project.getArtifactId());
             }
 
             return true;
@@ -260,6 +246,60 @@ private boolean isPackagedArtifactUpToDate(MavenProject project, File packagedAr
         }
     }
 
+    /**
+     * Returns the fingerprint of the given output directory, which is computed once and kept until a mojo
+     * of the project owning the directory starts or ends, so that the directory is not walked again for
+     * each lookup of the project artifacts.
+     */
+    private OutputFingerprint getOutputFingerprint(Path outputDirectory) throws IOException {
+        OutputFingerprint fingerprint = outputFingerprints.get(outputDirectory);
+        if (fingerprint == null) {
+            fingerprint = OutputFingerprint.of(outputDirectory);
+            outputFingerprints.put(outputDirectory, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private void invalidateOutputFingerprint(MavenProject project) {
+        if (project != null && project.getBuild() != null && project.getBuild().getOutputDirectory() != null) {
+            outputFingerprints.remove(Paths.get(project.getBuild().getOutputDirectory()));
+        }
+    }
+
+    /**
+     * The newest file of an output directory, and its number of files.
+     *
+     * @param newestFile the most recently modified file, or {@code null} if the directory has no files
+     * @param newestLastModified the last modified time of the newest file, in milliseconds
+     * @param fileCount the number of files
+     */
+    record OutputFingerprint(Path newestFile, long newestLastModified, int fileCount) {
+
+        static OutputFingerprint of(Path outputDirectory) throws IOException {
+            if (!Files.isDirectory(outputDirectory)) {
+                return new OutputFingerprint(null, Long.MIN_VALUE, 0);
+            }
+            Path[] newest = new Path[1];
+            long[] newestLastModified = {Long.MIN_VALUE};
+            int[] count = {0};
+            Files.walkFileTree(outputDirectory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (!attrs.isDirectory()) {
+                        count[0]++;
+                        long lastModified = attrs.lastModifiedTime().toMillis();
+                        if (lastModified > newestLastModified[0]) {
+                            newestLastModified[0] = lastModified;
+                            newest[0] = file;
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return new OutputFingerprint(newest[0], newestLastModified[0], count[0]);
+        }
+    }
+
     private boolean hasBeenPackagedDuringThisSession(MavenProject project) {
         boolean packaged = false;
         for (String phase : getLifecycles(project)) {
@@ -293,11 +333,22 @@ private Path relativizeOutputFile(final Path outputFile) {
      */
     private Artifact findMatchingArtifact(MavenProject project, Artifact requestedArtifact) {
         String requestedRepositoryConflictId = ArtifactIdUtils.toVersionlessId(requestedArtifact);
-        return getProjectArtifacts(project)
-                .filter(artifact ->
-                        Objects.equals(requestedRepositoryConflictId, ArtifactIdUtils.toVersionlessId(artifact)))
-                .findFirst()
-                .orElse(null);
+        // pom artifact
+        if ("pom".equals(requestedArtifact.getExtension())) {
+            Artifact pomArtifact = RepositoryUtils.toArtifact(new ProjectArtifact(project));
+            if (requestedRepositoryConflictId.equals(ArtifactIdUtils.toVersionlessId(pomArtifact))) {
+                return pomArtifact;
+            }
+        }
+        // main project artifact if not a pom
+        if (!"pom".equals(project.getPackaging()) && project.getArtifact() != null) {
+            Artifact mainArtifact = RepositoryUtils.toArtifact(project.getArtifact());
+            if (requestedRepositoryConflictId.equals(ArtifactIdUtils.toVersionlessId(mainArtifact))) {
+                return mainArtifact;
+            }
+        }
+        // attached artifacts, which are indexed by the project
+        return RepositoryUtils.toArtifact(project.getAttachedArtifact(requestedRepositoryConflictId));
     }
 
     /**
@@ -320,14 +371,21 @@ private File findInProjectLocalRepository(Artifact artifact) {
      * We are interested in project success events, in which case we call
      * the {@link #installIntoProjectLocalRepository(MavenProject)} method.
      * The mojo started event is also captured to determine the lifecycle
-     * phases the project has been through.
+     * phases the project has been through, and the mojo events invalidate
+     * the cached fingerprint of the project output directory.
      *
      * @param event the execution event
      */
     private void processEvent(ExecutionEvent event) {
         MavenProject project = event.getProject();
         switch (event.getType()) {
+            case MojoSucceeded:
+            case MojoFailed:
+            case MojoSkipped:
+                invalidateOutputFingerprint(project);
+                break;
             case MojoStarted:
+                invalidateOutputFingerprint(project);
                 String phase = event.getMojoExecution().getLifecyclePhase();
                 if (phase != null) {
                     Deque<String> phases = getLifecycles(project);
@@ -341,6 +399,7 @@ private void processEvent(ExecutionEvent event) {
                 break;
             case ProjectSucceeded:
             case ForkedProjectSucceeded:
+                invalidateOutputFingerprint(project);
                 installIntoProjectLocalRepository(project);
                 break;
             default:
@@ -482,44 +541,49 @@ private Path getProjectLocalRepo() {
 
     private MavenProject getProject(Artifact artifact) {
         return getAllProjects()
-                .getOrDefault(artifact.getGroupId(), Collections.emptyMap())
-                .getOrDefault(artifact.getArtifactId(), Collections.emptyMap())
-                .getOrDefault(artifact.getBaseVersion(), null);
+                .getOrDefault(versionlessKey(artifact.getGroupId(), artifact.getArtifactId()), Collections.emptyMap())
+                .get(artifact.getBaseVersion());
     }
 
-    // groupId -> (artifactId -> (version -> project)))
-    private Map<String, Map<String, Map<String, MavenProject>>> getAllProjects() {
+    // groupId:artifactId -> (version -> project)
+    private Map<String, Map<String, MavenProject>> getAllProjects() {
         // compute the projects mapping
-        if (allProjects == null) {
+        Map<String, Map<String, MavenProject>> map = allProjects;
+        if (map == null) {
             List<MavenProject> allProjects = session.getAllProjects();
-            if (allProjects != null) {
-                Map<String, Map<String, Map<String, MavenProject>>> map = new HashMap<>();
-                allProjects.forEach(project -> map.computeIfAbsent(project.getGroupId(), k -> new HashMap<>())
-                        .computeIfAbsent(project.getArtifactId(), k -> new HashMap<>())
-                        .put(project.getVersion(), project));
-                this.allProjects = map;
-            } else {
+            if (allProjects == null) {
                 return Collections.emptyMap();
             }
+            map = index(allProjects);
+            this.allProjects = map;
         }
-        return allProjects;
+        return map;
     }
 
-    private Map<String, Map<String, Map<String, MavenProject>>> getProjects() {
+    private Map<String, Map<String, MavenProject>> getProjects() {
         // compute the projects mapping
-        if (projects == null) {
+        Map<String, Map<String, MavenProject>> map = projects;
+        if (map == null) {
             List<MavenProject> projects = session.getProjects();
-            if (projects != null) {
-                Map<String, Map<String, Map<String, MavenProject>>> map = new HashMap<>();
-                projects.forEach(project -> map.computeIfAbsent(project.getGroupId(), k -> new HashMap<>())
-                        .computeIfAbsent(project.getArtifactId(), k -> new HashMap<>())
-                        .put(project.getVersion(), project));
-                this.projects = map;
-            } else {
+            if (projects == null) {
                 return Collections.emptyMap();
             }
+            map = index(projects);
+            this.projects = map;
         }
-        return projects;
+        return map;
+    }
+
+    private static Map<String, Map<String, MavenProject>> index(List<MavenProject> projects) {
+        Map<String, Map<String, MavenProject>> map = new HashMap<>();
+        projects.forEach(project -> map.computeIfAbsent(
+                        versionlessKey(project.getGroupId(), project.getArtifactId()), k -> new HashMap<>())
+                .put(project.getVersion(), project));
+        return map;
+    }
+
+    private static String versionlessKey(String groupId, String artifactId) {
+        return groupId + ':' + artifactId;
     }
 
     /**
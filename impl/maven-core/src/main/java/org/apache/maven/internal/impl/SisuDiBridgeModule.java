@@ -161,6 +161,7 @@ public T get() {
             }
         }
 
+        // the compiled bindings are not memoised, as the Plexus components can change at any time
         @Override
         public <Q> Supplier<Q> getCompiledBinding(Dependency<Q> dep) {
             Key<Q> key = dep.key();
@@ -298,7 +298,7 @@ private static void warn(String msg) {
         }
     }
 
-    private void doExecute(MavenSession session, MojoExecution mojoExecution, DependencyContext dependencyContext)
+    protected void doExecute(MavenSession session, MojoExecution mojoExecution, DependencyContext dependencyContext)
             throws LifecycleExecutionException {
         MojoDescriptor mojoDescriptor = mojoExecution.getMojoDescriptor();
 
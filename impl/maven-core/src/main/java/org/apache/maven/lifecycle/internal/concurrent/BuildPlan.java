@@ -18,8 +18,10 @@
  */
 package org.apache.maven.lifecycle.internal.concurrent;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -28,6 +30,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -155,6 +158,38 @@ public List<BuildStep> sortedNodes() {
         return sortedNodes;
     }
 
+    /**
+     * Computes the weight of each step, i.e. the cost of the most expensive path from the step
+     * to the end of the plan, including the cost of the step itself.
+     */
+    public void computeWeights(ToLongFunction<BuildStep> cost) {
+        List<BuildStep> steps = allSteps().toList();
+        Set<BuildStep> all = new HashSet<>(steps);
+        Map<BuildStep, Integer> remaining = new HashMap<>();
+        Deque<BuildStep> sinks = new ArrayDeque<>();
+        for (BuildStep step : steps) {
+            int count = (int) step.successors.stream().filter(all::contains).count();
+            remaining.put(step, count);
+            step.weight = 0;
+            if (count == 0) {
+                sinks.add(step);
+            }
+        }
+        // Walk the graph backwards from the sinks, so that a step is visited after all its successors
+        while (!sinks.isEmpty()) {
+            BuildStep step = sinks.poll();
+            step.weight += cost.applyAsLong(step);
+            for (BuildStep pred : step.predecessors) {
+                if (all.contains(pred)) {
+                    pred.weight = Math.max(pred.weight, step.weight);
+                    if (remaining.merge(pred, -1, Integer::sum) == 0) {
+                        sinks.add(pred);
+                    }
+                }
+            }
+        }
+    }
+
     // Helper method to visit a node
     private static void visitNode(BuildStep node, Set<BuildStep> visited, List<BuildStep> sortedNodes) {
         if (visited.add(node)) {
@@ -25,21 +25,29 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.maven.api.Constants;
 import org.apache.maven.api.Lifecycle;
 import org.apache.maven.api.services.LifecycleRegistry;
 import org.apache.maven.api.services.MavenException;
@@ -83,6 +91,7 @@
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.classworlds.realm.ClassRealm;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.ConfigUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -166,6 +175,10 @@ class BuildContext implements AutoCloseable {
         final PhasingExecutor executor;
         final Map<Object, Clock> clocks = new ConcurrentHashMap<>();
         final ReadWriteLock lock = new ReentrantReadWriteLock();
+        final Priority priority;
+        final Queue<BuildStep> ready;
+        final SchedulerStats stats = new SchedulerStats();
+        final BuildTimings timings;
         final int threads;
         BuildPlan plan;
 
@@ -178,6 +191,14 @@ class BuildContext implements AutoCloseable {
             // Propagate the parallel flag to the root session
             session.setParallel(threads > 1);
             this.executor = new PhasingExecutor(Executors.newFixedThreadPool(threads, new BuildThreadFactory()));
+            this.priority = priority(session);
+            this.timings = BuildTimings.get(session);
+            this.ready = priority == Priority.CRITICAL_PATH
+                    ? new PriorityBlockingQueue<>(
+                            64,
+                            Comparator.comparingLong((BuildStep s) -> s.priority)
+                                    .reversed())
+                    : new ConcurrentLinkedQueue<>();
 
             // build initial plan
             this.plan = buildInitialPlan(taskSegments);
@@ -188,6 +209,9 @@ class BuildContext implements AutoCloseable {
             this.reactorContext = null;
             this.threads = 1;
             this.executor = null;
+            this.priority = Priority.FIFO;
+            this.timings = new BuildTimings();
+            this.ready = new ConcurrentLinkedQueue<>();
             this.plan = null;
         }
 
@@ -300,8 +324,9 @@ following plugin(s) that have goals not built with Maven 4 to support concurrent
 
         void execute() {
             try (var phase = executor.phase()) {
+                clocks.computeIfAbsent(GLOBAL, p -> new Clock()).start();
+                arm(plan.allSteps());
                 plan();
-                executePlan();
             } catch (Exception e) {
                 session.getResult().addException(e);
             }
@@ -310,44 +335,82 @@ void execute() {
         @Override
         public void close() {
             this.executor.close();
+            stats.log(logger, threads);
+            try {
+                timings.save();
+            } catch (IOException e) {
+                logger.warn("Unable to save build timings: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Initializes the pending predecessor counters of the given steps and schedules
+         * the ones which are immediately ready.  Must be called with the write lock held
+         * or before the execution starts.
+         */
+        private void arm(Stream<BuildStep> steps) {
+            steps.filter(step -> step.status.get() == CREATED)
+                    .filter(step -> step.arm() == 0)
+                    .filter(step -> step.status.compareAndSet(CREATED, SCHEDULED))
+                    .forEach(this::schedule);
         }
 
-        private void executePlan() {
+        private void schedule(BuildStep step) {
             if (reactorContext.getReactorBuildStatus().isHalted()) {
                 return;
             }
-            Clock global = clocks.computeIfAbsent(GLOBAL, p -> new Clock());
-            global.start();
+            step.readyTime = System.nanoTime();
+            step.priority = step.weight;
+            ready.add(step);
+            executor.execute(this::executeNext);
+        }
+
+        private void executeNext() {
+            BuildStep step = ready.poll();
+            if (step == null) {
+                return;
+            }
+            Clock global = getClock(GLOBAL);
+            long start = System.nanoTime();
+            stats.started(start - step.readyTime);
+            try {
+                executeStep(step);
+                stats.executed(System.nanoTime() - start);
+                executed(step);
+            } catch (Exception e) {
+                stats.executed(System.nanoTime() - start);
+                step.status.compareAndSet(SCHEDULED, FAILED);
+                global.stop();
+                handleBuildError(reactorContext, session, step.project, e, global);
+            }
+        }
+
+        /**
+         * Marks the step as executed and releases its successors: the ones which have
+         * no more pending predecessors are pushed to the ready queue.
+         */
+        private void executed(BuildStep step) {
+            long start = System.nanoTime();
+            boolean nextIsPlanning = false;
+            List<BuildStep> readySteps = new ArrayList<>();
             lock.readLock().lock();
             try {
-                plan.sortedNodes().stream()
-                        .filter(step -> step.status.get() == CREATED)
-                        .filter(step -> step.predecessors.stream().allMatch(s -> s.status.get() == EXECUTED))
-                        .filter(step -> step.status.compareAndSet(CREATED, SCHEDULED))
-                        .forEach(step -> {
-                            boolean nextIsPlanning = step.successors.stream().anyMatch(st -> PLAN.equals(st.name));
-                            executor.execute(() -> {
-                                try {
-                                    executeStep(step);
-                                    if (nextIsPlanning) {
-                                        lock.writeLock().lock();
-                                        try {
-                                            plan();
-                                        } finally {
-                                            lock.writeLock().unlock();
-                                        }
-                                    }
-                                    executePlan();
-                                } catch (Exception e) {
-                                    step.status.compareAndSet(SCHEDULED, FAILED);
-                                    global.stop();
-                                    handleBuildError(reactorContext, session, step.project, e, global);
-                                }
-                            });
-                        });
+                step.status.compareAndSet(SCHEDULED, EXECUTED);
+                for (BuildStep successor : step.successors) {
+                    if (PLAN.equals(successor.name)) {
+                        nextIsPlanning = true;
+                    } else if (successor.release() && successor.status.compareAndSet(CREATED, SCHEDULED)) {
+                        readySteps.add(successor);
+                    }
+                }
             } finally {
                 lock.readLock().unlock();
             }
+            readySteps.forEach(this::schedule);
+            stats.scheduling(System.nanoTime() - start);
+            if (nextIsPlanning) {
+                plan();
+            }
         }
 
         private void executeStep(BuildStep step) throws IOException, LifecycleExecutionException {
@@ -363,6 +426,7 @@ private void executeStep(BuildStep step) throws IOException, LifecycleExecutionE
                     eventCatapult.fire(ExecutionEvent.Type.ProjectStarted, session, null);
                     break;
                 case TEARDOWN:
+                    buildPlanLogger.writeTimings(plan, step.project, timings);
                     projectExecutionListener.afterProjectExecutionSuccess(
                             new ProjectExecutionEvent(session, step.project, Collections.emptyList()));
                     reactorContext
@@ -385,7 +449,6 @@ private void executeStep(BuildStep step) throws IOException, LifecycleExecutionE
                     }
                     break;
             }
-            step.status.compareAndSet(SCHEDULED, EXECUTED);
         }
 
         private Clock getClock(Object key) {
@@ -447,11 +510,44 @@ private void plan() {
 
                 checkThreadSafety(plan);
                 checkUnboundVersions(plan);
+
+                if (priority == Priority.CRITICAL_PATH) {
+                    plan.computeWeights(this::cost);
+                }
+
+                // planning may have added new predecessors to the steps of the planned projects
+                arm(planSteps.stream().flatMap(p -> plan.steps(p.project)));
             } finally {
                 lock.writeLock().unlock();
             }
         }
 
+        /**
+         * The estimated cost of a step, used to compute the critical path of the plan.
+         */
+        protected long cost(BuildStep step) {
+            return step.executions()
+                    .mapToLong(execution -> timings.estimate(step.project, execution))
+                    .sum();
+        }
+
+        private Priority priority(MavenSession session) {
+            String value = ConfigUtils.getString(
+                    session.getRepositorySession(), null, Constants.MAVEN_BUILDER_CONCURRENT_PRIORITY);
+            if (value == null || value.isEmpty()) {
+                return Priority.FIFO;
+            }
+            try {
+                return Priority.valueOf(value.toUpperCase(Locale.ENGLISH).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                logger.warn(
+                        "Invalid value specified for property {}: '{}'. Supported values are: fifo, critical-path",
+                        Constants.MAVEN_BUILDER_CONCURRENT_PRIORITY,
+                        value);
+                return Priority.FIFO;
+            }
+        }
+
         protected BuildPlan computeForkPlan(BuildStep step, MojoExecution execution, BuildPlan buildPlan) {
             MojoDescriptor mojoDescriptor = execution.getMojoDescriptor();
             PluginDescriptor pluginDescriptor = mojoDescriptor.getPluginDescriptor();
@@ -904,6 +1000,20 @@ public static void attachToThread(MavenProject currentProject) {
         }
     }
 
+    /**
+     * The order in which ready steps are picked by the workers.
+     */
+    enum Priority {
+        /**
+         * Steps are executed in the order they become ready.
+         */
+        FIFO,
+        /**
+         * Steps with the most expensive chain of remaining work downstream are executed first.
+         */
+        CRITICAL_PATH
+    }
+
     protected static class Clock {
         long start;
         long end;
@@ -932,4 +1042,53 @@ protected long execTime() {
             return TimeUnit.NANOSECONDS.toMillis(exec);
         }
     }
+
+    /**
+     * Collects scheduling statistics: the time steps spend in the ready queue waiting
+     * for a worker, the time spent releasing successors and the time spent executing steps,
+     * from which the worker idle time can be derived.
+     */
+    protected static class SchedulerStats {
+        final long start = System.nanoTime();
+        final LongAdder steps = new LongAdder();
+        final LongAdder queueWait = new LongAdder();
+        final LongAccumulator maxQueueWait = new LongAccumulator(Math::max, 0);
+        final LongAdder busy = new LongAdder();
+        final LongAdder scheduling = new LongAdder();
+
+        protected void started(long waitNanos) {
+            steps.increment();
+            queueWait.add(waitNanos);
+            maxQueueWait.accumulate(waitNanos);
+        }
+
+        protected void executed(long execNanos) {
+            busy.add(execNanos);
+        }
+
+        protected void scheduling(long nanos) {
+            scheduling.add(nanos);
+        }
+
+        protected long idleTime(int threads) {
+            long wall = System.nanoTime() - start;
+            return TimeUnit.NANOSECONDS.toMillis(Math.max(0, wall * threads - busy.sum()));
+        }
+
+        protected void log(Logger logger, int threads) {
+            if (logger.isDebugEnabled()) {
+                long count = steps.sum();
+                logger.debug(
+                        "Scheduler: {} steps executed on {} threads, queue wait avg {} ms / max {} ms, "
+                                + "scheduling {} ms, busy {} ms, idle {} ms",
+                        count,
+                        threads,
+                        count > 0 ? TimeUnit.NANOSECONDS.toMillis(queueWait.sum() / count) : 0,
+                        TimeUnit.NANOSECONDS.toMillis(maxQueueWait.get()),
+                        TimeUnit.NANOSECONDS.toMillis(scheduling.sum()),
+                        TimeUnit.NANOSECONDS.toMillis(busy.sum()),
+                        idleTime(threads));
+            }
+        }
+    }
 }
@@ -25,6 +25,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -103,6 +104,28 @@ public void writePlan(Consumer<String> writer, BuildPlan plan, MavenProject proj
         writer.accept("=======================================================================");
     }
 
+    public void writeTimings(BuildPlan plan, MavenProject project, BuildTimings timings) {
+        if (logger.isDebugEnabled()) {
+            writeTimings(logger::debug, plan, project, timings);
+        }
+    }
+
+    public void writeTimings(Consumer<String> writer, BuildPlan plan, MavenProject project, BuildTimings timings) {
+        writer.accept("=== PROJECT BUILD TIMINGS =============================================");
+        writer.accept("Project:                     " + getKey(project));
+        plan.steps(project)
+                .flatMap(BuildStep::executions)
+                .forEach(mojoExecution -> writer.accept("\t" + mojoExecution.getArtifactId() + ':'
+                        + mojoExecution.getGoal() + " (" + mojoExecution.getExecutionId() + "): predicted "
+                        + duration(timings.predicted(project, mojoExecution)) + ", actual "
+                        + duration(timings.actual(project, mojoExecution))));
+        writer.accept("=======================================================================");
+    }
+
+    private static String duration(OptionalLong duration) {
+        return duration.isPresent() ? duration.getAsLong() + " ms" : "n/a";
+    }
+
     protected Stream<BuildStep> nonEmptyPredecessors(BuildStep step) {
         HashSet<BuildStep> preds = new HashSet<>();
         nonEmptyPredecessors(step, preds, new HashSet<>());
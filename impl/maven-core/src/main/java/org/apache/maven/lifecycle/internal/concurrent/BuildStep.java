@@ -52,6 +52,10 @@ public class BuildStep {
     final Collection<BuildStep> successors = new HashSet<>();
     final AtomicInteger status = new AtomicInteger();
     final AtomicBoolean skip = new AtomicBoolean();
+    final AtomicInteger pending = new AtomicInteger();
+    volatile long readyTime;
+    long weight;
+    long priority;
 
     public BuildStep(String name, MavenProject project, Lifecycle.Phase phase) {
         this.name = name;
@@ -103,6 +107,27 @@ public void executeAfter(BuildStep stepToExecuteBefore) {
         }
     }
 
+    /**
+     * Resets the number of predecessors which still need to be executed before this step can be scheduled.
+     *
+     * @return the number of pending predecessors
+     */
+    int arm() {
+        int count = (int)
+                predecessors.stream().filter(p -> p.status.get() != EXECUTED).count();
+        pending.set(count);
+        return count;
+    }
+
+    /**
+     * Notifies this step that one of its predecessors has been executed.
+     *
+     * @return {@code true} if this was the last pending predecessor
+     */
+    boolean release() {
+        return pending.decrementAndGet() == 0;
+    }
+
     public Stream<MojoExecution> executions() {
         return mojos.values().stream().flatMap(m -> m.values().stream());
     }
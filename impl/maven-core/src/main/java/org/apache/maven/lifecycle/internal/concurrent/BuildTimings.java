@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal.concurrent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.api.SessionData;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.util.ConfigUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the duration of each mojo execution per project, and optionally persists them across builds
+ * in the file configured with {@link Constants#MAVEN_BUILDER_TIMINGS}.
+ * <p>
+ * The durations recorded by previous builds are used to estimate the cost of build steps when scheduling
+ * them, and to compare predicted and actual durations.  The instance associated with a session can be
+ * retrieved using {@link #get(MavenSession)}.
+ * </p>
+ * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
+ *
+ * @since 4.0.0
+ */
+public class BuildTimings {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildTimings.class);
+
+    private static final SessionData.Key<BuildTimings> KEY = SessionData.key(BuildTimings.class);
+
+    private static final long DEFAULT_ESTIMATE = 1;
+
+    private final Path file;
+    private final Map<String, Long> history;
+    private final Map<String, Long> goals;
+    private final long average;
+    private final Map<String, Long> current = new ConcurrentHashMap<>();
+
+    BuildTimings() {
+        this(null, Collections.emptyMap());
+    }
+
+    BuildTimings(Path file, Map<String, Long> history) {
+        this.file = file;
+        this.history = history;
+        // average durations per goal, used for executions without history
+        this.goals = history.entrySet().stream()
+                .collect(Collectors.groupingBy(e -> goal(e.getKey()), Collectors.averagingLong(Map.Entry::getValue)))
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> Math.round(e.getValue())));
+        this.average = Math.round(
+                history.values().stream().mapToLong(Long::longValue).average().orElse(DEFAULT_ESTIMATE));
+    }
+
+    /**
+     * Retrieves the timings associated with the given session, loading the durations recorded
+     * by previous builds if needed.
+     */
+    public static BuildTimings get(MavenSession session) {
+        return session.getSession().getData().computeIfAbsent(KEY, () -> load(session));
+    }
+
+    static BuildTimings load(MavenSession session) {
+        String path = ConfigUtils.getString(session.getRepositorySession(), null, Constants.MAVEN_BUILDER_TIMINGS);
+        if (path == null || path.isEmpty()) {
+            return new BuildTimings();
+        }
+        return load(session.getTopDirectory().resolve(path));
+    }
+
+    static BuildTimings load(Path file) {
+        Map<String, Long> history = new HashMap<>();
+        if (Files.isRegularFile(file)) {
+            Properties props = new Properties();
+            try (InputStream is = Files.newInputStream(file)) {
+                props.load(is);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read build timings from {}: {}", file, e.getMessage());
+            }
+            props.forEach((k, v) -> {
+                try {
+                    history.put(k.toString(), Long.parseLong(v.toString()));
+                } catch (NumberFormatException e) {
+                    // ignore invalid entry
+                }
+            });
+        }
+        return new BuildTimings(file, history);
+    }
+
+    /**
+     * Records the duration in milliseconds of the given mojo execution for the given project.
+     */
+    public void record(MavenProject project, MojoExecution execution, long duration) {
+        current.merge(key(project, execution), duration, Long::sum);
+    }
+
+    /**
+     * Returns the duration in milliseconds of the given mojo execution recorded by the previous builds, if any.
+     */
+    public OptionalLong predicted(MavenProject project, MojoExecution execution) {
+        Long duration = history.get(key(project, execution));
+        return duration != null ? OptionalLong.of(duration) : OptionalLong.empty();
+    }
+
+    /**
+     * Returns the duration in milliseconds of the given mojo execution during the current build, if executed.
+     */
+    public OptionalLong actual(MavenProject project, MojoExecution execution) {
+        Long duration = current.get(key(project, execution));
+        return duration != null ? OptionalLong.of(duration) : OptionalLong.empty();
+    }
+
+    /**
+     * Estimates the duration of the given mojo execution.  If the execution has not been recorded
+     * by a previous build, the average duration of the same goal, or the average duration of all
+     * recorded executions is used.
+     */
+    public long estimate(MavenProject project, MojoExecution execution) {
+        String key = key(project, execution);
+        Long duration = history.get(key);
+        if (duration == null) {
+            duration = goals.get(goal(key));
+        }
+        // durations are recorded in milliseconds, make sure each execution has a cost
+        return Math.max(DEFAULT_ESTIMATE, duration != null ? duration : average);
+    }
+
+    /**
+     * Persists the durations recorded by this build, merged with the previous ones, if a file has been configured.
+     */
+    public void save() throws IOException {
+        if (file == null || current.isEmpty()) {
+            return;
+        }
+        Properties props = new Properties();
+        history.forEach((k, v) -> props.setProperty(k, v.toString()));
+        current.forEach((k, v) -> props.setProperty(k, v.toString()));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName() + ".", ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp)) {
+                props.store(os, "Maven build timings");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    static String key(MavenProject project, MojoExecution execution) {
+        return project.getGroupId() + ":" + project.getArtifactId() + "/" + execution.getGroupId() + ":"
+                + execution.getArtifactId() + ":" + execution.getGoal() + "@" + execution.getExecutionId();
+    }
+
+    private static String goal(String key) {
+        int start = key.indexOf('/');
+        int end = key.lastIndexOf('@');
+        return key.substring(start + 1, end > start ? end : key.length());
+    }
+}
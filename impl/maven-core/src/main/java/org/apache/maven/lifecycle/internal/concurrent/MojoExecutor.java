@@ -23,12 +23,17 @@
 import javax.inject.Provider;
 import javax.inject.Singleton;
 
+import java.util.concurrent.TimeUnit;
+
 import org.apache.maven.api.services.MessageBuilderFactory;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.LifecycleExecutionException;
+import org.apache.maven.lifecycle.internal.DependencyContext;
 import org.apache.maven.lifecycle.internal.ExecutionEventCatapult;
 import org.apache.maven.lifecycle.internal.LifecycleDependencyResolver;
 import org.apache.maven.plugin.BuildPluginManager;
 import org.apache.maven.plugin.MavenPluginManager;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojosExecutionStrategy;
 
 @Named("concurrent")
@@ -52,6 +57,18 @@ public MojoExecutor(
                 messageBuilderFactory);
     }
 
+    @Override
+    protected void doExecute(MavenSession session, MojoExecution mojoExecution, DependencyContext dependencyContext)
+            throws LifecycleExecutionException {
+        long start = System.nanoTime();
+        super.doExecute(session, mojoExecution, dependencyContext);
+        BuildTimings.get(session)
+                .record(
+                        session.getCurrentProject(),
+                        mojoExecution,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
     @Override
     protected boolean useProjectLock(MavenSession session) {
         return false;
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.logging;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.execution.ExecutionEvent;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A build event listener which buffers the log messages of each project while it is built, and writes them at once
+ * when the project finishes, so that the output of the projects built concurrently is not interleaved.
+ * <p>
+ * The messages of a project are kept in memory up to the given threshold, then spilled to a temporary file.
+ * The messages which are not associated with a project being built, such as the reactor summary, are written
+ * immediately.  While the projects are being built, a compact status line listing them can be displayed by the
+ * given status consumer, which is typically backed by the status bar of the terminal.
+ * <p>
+ * This listener is enabled with {@link Constants#MAVEN_BUILDER_BUFFERED_OUTPUT}.
+ *
+ * @since 4.0.0
+ */
+public class BufferedBuildEventListener extends SimpleBuildEventListener implements AutoCloseable {
+
+    /**
+     * The default number of characters of a project log kept in memory.
+     */
+    public static final int DEFAULT_THRESHOLD = 1024 * 1024;
+
+    /**
+     * The maximum number of projects listed in the status line.
+     */
+    private static final int MAX_STATUS_PROJECTS = 4;
+
+    private final Consumer<String> status;
+
+    private final int threshold;
+
+    private final Map<String, ProjectLog> logs = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private int total;
+
+    private int finished;
+
+    /**
+     * Creates a new listener.
+     *
+     * @param output the consumer writing the log messages
+     * @param status the consumer displaying the status line, which is cleared with an empty string,
+     *               or {@code null} to not display a status line
+     * @param threshold the number of characters of each project log kept in memory before spilling it to disk
+     */
+    public BufferedBuildEventListener(Consumer<String> output, Consumer<String> status, int threshold) {
+        super(output);
+        this.status = status;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void sessionStarted(ExecutionEvent event) {
+        if (event.getSession() != null && event.getSession().getProjects() != null) {
+            total = event.getSession().getProjects().size();
+        }
+    }
+
+    @Override
+    public void projectStarted(String projectId) {
+        logs.computeIfAbsent(projectId, id -> new ProjectLog(id, sequence.getAndIncrement()));
+        updateStatus();
+    }
+
+    @Override
+    public void projectLogMessage(String projectId, String event) {
+        // the messages of the forked executions are associated with the forking project
+        ProjectLog log = projectId != null ? logs.get(root(projectId)) : null;
+        if (log == null || !log.append(event)) {
+            log(event);
+        }
+    }
+
+    @Override
+    public void projectFinished(String projectId) {
+        synchronized (this) {
+            ProjectLog log = logs.remove(projectId);
+            if (log != null) {
+                log.writeTo(output);
+                finished++;
+            }
+        }
+        updateStatus();
+    }
+
+    @Override
+    public void finish(int exitCode) throws Exception {
+        close();
+    }
+
+    @Override
+    public void fail(Throwable t) throws Exception {
+        close();
+    }
+
+    @Override
+    public synchronized void log(String msg) {
+        output.accept(msg);
+    }
+
+    /**
+     * Writes the logs of the projects which did not finish, for example when the build is halted, and clears the
+     * status line.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            List<ProjectLog> pending = new ArrayList<>(logs.values());
+            pending.sort(Comparator.comparingLong(ProjectLog::sequence));
+            for (ProjectLog log : pending) {
+                logs.remove(log.projectId);
+                log.writeTo(output);
+            }
+            if (status != null) {
+                status.accept("");
+            }
+        }
+    }
+
+    private void updateStatus() {
+        if (status == null) {
+            return;
+        }
+        List<ProjectLog> active = new ArrayList<>(logs.values());
+        active.sort(Comparator.comparingLong(ProjectLog::sequence));
+        StringBuilder line = new StringBuilder();
+        synchronized (this) {
+            line.append('[').append(finished);
+            if (total > 0) {
+                line.append('/').append(total);
+            }
+            line.append(']');
+            if (!active.isEmpty()) {
+                line.append(" Building ");
+                for (int i = 0; i < active.size() && i < MAX_STATUS_PROJECTS; i++) {
+                    line.append(i > 0 ? ", " : "").append(active.get(i).projectId);
+                }
+                if (active.size() > MAX_STATUS_PROJECTS) {
+                    line.append(" and ").append(active.size() - MAX_STATUS_PROJECTS).append(" more");
+                }
+            }
+            status.accept(line.toString());
+        }
+    }
+
+    private static String root(String projectId) {
+        int index = projectId.indexOf('/');
+        return index >= 0 ? projectId.substring(0, index) : projectId;
+    }
+
+    /**
+     * The buffered log of a project.
+     */
+    private final class ProjectLog {
+        final String projectId;
+
+        final long sequence;
+
+        final StringBuilder buffer = new StringBuilder();
+
+        Path file;
+
+        BufferedWriter writer;
+
+        /**
+         * Whether the messages have been spilled to disk, or could not be.
+         */
+        boolean spilled;
+
+        /**
+         * Whether the log has been written, after which the messages are written directly.
+         */
+        boolean written;
+
+        ProjectLog(String projectId, long sequence) {
+            this.projectId = projectId;
+            this.sequence = sequence;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+
+        synchronized boolean append(String message) {
+            if (written) {
+                return false;
+            }
+            if (writer != null) {
+                try {
+                    writer.write(message);
+                    writer.newLine();
+                    return true;
+                } catch (IOException e) {
+                    // keep the messages in memory from now on, so that they are still written in order
+                    unspill();
+                }
+            }
+            buffer.append(message).append('\n');
+            if (buffer.length() > threshold && !spilled) {
+                spill();
+            }
+            return true;
+        }
+
+        private void spill() {
+            spilled = true;
+            try {
+                file = Files.createTempFile("maven-" + projectId + "-", ".log");
+                writer = Files.newBufferedWriter(file, UTF_8);
+                writer.append(buffer);
+                buffer.setLength(0);
+            } catch (IOException e) {
+                // keep the messages in memory
+                closeWriter();
+                delete();
+            }
+        }
+
+        /**
+         * Reads back the messages spilled to disk, after the file could not be written anymore.  The messages which
+         * were still buffered by the writer are lost.
+         */
+        private void unspill() {
+            closeWriter();
+            try {
+                buffer.insert(0, Files.readString(file, UTF_8));
+            } catch (IOException e) {
+                buffer.insert(0, "Unable to read the log of " + projectId + " from " + file + ": " + e + '\n');
+            }
+            delete();
+        }
+
+        private void closeWriter() {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    // ignore, the file is deleted
+                }
+                writer = null;
+            }
+        }
+
+        synchronized void writeTo(Consumer<String> output) {
+            written = true;
+            if (writer != null) {
+                try {
+                    writer.close();
+                    try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            output.accept(line);
+                        }
+                    }
+                } catch (IOException e) {
+                    output.accept("Unable to read the log of " + projectId + " from " + file + ": " + e);
+                } finally {
+                    writer = null;
+                    delete();
+                }
+            }
+            int start = 0;
+            for (int end = buffer.indexOf("\n"); end >= 0; end = buffer.indexOf("\n", start)) {
+                output.accept(buffer.substring(start, end));
+                start = end + 1;
+            }
+            buffer.setLength(0);
+        }
+
+        private void delete() {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    file.toFile().deleteOnExit();
+                }
+                file = null;
+            }
+        }
+    }
+}
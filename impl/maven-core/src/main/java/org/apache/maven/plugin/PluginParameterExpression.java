@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.internal.impl.model.reflection.CompiledValueExtractor;
+
+/**
+ * A plugin parameter expression parsed by {@link PluginParameterExpressionEvaluatorV4}. Each distinct expression
+ * is parsed once and shared, so that evaluating the configuration of many mojo executions does not tokenize the
+ * same expressions again.
+ */
+abstract sealed class PluginParameterExpression {
+
+    /**
+     * Maximum number of cached expressions, beyond which the expressions are parsed on each use.
+     */
+    private static final int MAX_CACHED = 10000;
+
+    private static final Map<String, PluginParameterExpression> CACHE = new ConcurrentHashMap<>();
+
+    static PluginParameterExpression of(String expr) {
+        PluginParameterExpression expression = CACHE.get(expr);
+        if (expression == null) {
+            expression = parse(expr);
+            if (CACHE.size() < MAX_CACHED) {
+                CACHE.putIfAbsent(expr, expression);
+            }
+        }
+        return expression;
+    }
+
+    private static PluginParameterExpression parse(String expr) {
+        if (expr.startsWith("${") && (expr.indexOf('}') == expr.length() - 1)) {
+            return new Whole(expr.substring(2, expr.length() - 1));
+        }
+        int index = expr.indexOf("${");
+        if (index >= 0) {
+            int lastIndex = expr.indexOf('}', index);
+            if (lastIndex >= 0) {
+                String prefix = expr.substring(0, index);
+                PluginParameterExpression rest = of(expr.substring(lastIndex + 1));
+                if ((index > 0) && (expr.charAt(index - 1) == '$')) {
+                    return new Concat(prefix, null, expr.substring(index + 1, lastIndex + 1), rest);
+                } else {
+                    return new Concat(
+                            prefix,
+                            (Whole) of(expr.substring(index, lastIndex + 1)),
+                            "$" + expr.substring(index + 1, lastIndex + 1),
+                            rest);
+                }
+            }
+        }
+        // Was not an expression
+        return new Literal(expr.replace("$$", "$"));
+    }
+
+    /**
+     * A text without expression.
+     */
+    static final class Literal extends PluginParameterExpression {
+        final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * An expression surrounded by <code>${</code> and <code>}</code>, the value of which is not converted to a string.
+     */
+    static final class Whole extends PluginParameterExpression {
+        static final int NONE = -1;
+        static final int SESSION = 0;
+        static final int PROJECT = 1;
+        static final int MOJO = 2;
+        static final int SETTINGS = 3;
+
+        /**
+         * The expression, without the surrounding tokens.
+         */
+        final String expression;
+
+        /**
+         * The root object of the expression, one of the constants above.
+         */
+        final int root;
+
+        /**
+         * The path to evaluate against the root object, or {@code null}.
+         */
+        final CompiledValueExtractor path;
+
+        /**
+         * The file path following the bean path, starting with a {@code /}, or {@code null}.
+         */
+        final String filePath;
+
+        Whole(String expression) {
+            this.expression = expression;
+            if (expression.startsWith("session.")) {
+                root = SESSION;
+            } else if (expression.startsWith("project.")) {
+                root = PROJECT;
+            } else if (expression.startsWith("mojo.")) {
+                root = MOJO;
+            } else if (expression.startsWith("settings.")) {
+                root = SETTINGS;
+            } else {
+                root = NONE;
+            }
+            if (root != NONE) {
+                int pathSeparator = expression.indexOf('/');
+                if (pathSeparator > 0) {
+                    path = CompiledValueExtractor.compile(expression.substring(0, pathSeparator));
+                    filePath = pathSeparator < expression.length() - 1 ? expression.substring(pathSeparator) : null;
+                } else {
+                    path = CompiledValueExtractor.compile(expression);
+                    filePath = null;
+                }
+            } else {
+                path = null;
+                filePath = null;
+            }
+        }
+    }
+
+    /**
+     * An expression embedded in a text: {@code prefix + expression + rest}.
+     */
+    static final class Concat extends PluginParameterExpression {
+        final String prefix;
+
+        /**
+         * The embedded expression, or {@code null} if it is escaped with <code>$$</code>.
+         */
+        final Whole expression;
+
+        /**
+         * The text replacing the expression if it is escaped or evaluates to {@code null}.
+         */
+        final String text;
+
+        final PluginParameterExpression rest;
+
+        Concat(String prefix, Whole expression, String text, PluginParameterExpression rest) {
+            this.prefix = prefix;
+            this.expression = expression;
+            this.text = text;
+            this.rest = rest;
+        }
+    }
+}
@@ -21,13 +21,11 @@
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.maven.api.MojoExecution;
 import org.apache.maven.api.Project;
 import org.apache.maven.api.Session;
-import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractor;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
 import org.codehaus.plexus.component.configurator.expression.TypeAwareExpressionEvaluator;
 
@@ -96,71 +94,56 @@ public Object evaluate(String expr) throws ExpressionEvaluationException {
     }
 
     @Override
-    @SuppressWarnings("checkstyle:methodlength")
     public Object evaluate(String expr, Class<?> type) throws ExpressionEvaluationException {
-        Object value = null;
-
         if (expr == null) {
             return null;
         }
+        return evaluate(PluginParameterExpression.of(expr), type);
+    }
 
-        String expression = stripTokens(expr);
-        if (expression.equals(expr)) {
-            int index = expr.indexOf("${");
-            if (index >= 0) {
-                int lastIndex = expr.indexOf('}', index);
-                if (lastIndex >= 0) {
-                    String retVal = expr.substring(0, index);
-
-                    if ((index > 0) && (expr.charAt(index - 1) == '$')) {
-                        retVal += expr.substring(index + 1, lastIndex + 1);
-                    } else {
-                        Object subResult = evaluate(expr.substring(index, lastIndex + 1));
-
-                        if (subResult != null) {
-                            retVal += subResult;
-                        } else {
-                            retVal += "$" + expr.substring(index + 1, lastIndex + 1);
-                        }
-                    }
-
-                    retVal += evaluate(expr.substring(lastIndex + 1));
-                    return retVal;
-                }
+    private Object evaluate(PluginParameterExpression expr, Class<?> type) throws ExpressionEvaluationException {
+        if (expr instanceof PluginParameterExpression.Literal literal) {
+            return literal.text;
+        } else if (expr instanceof PluginParameterExpression.Concat concat) {
+            String retVal = concat.prefix;
+            if (concat.expression == null) {
+                retVal += concat.text;
+            } else {
+                Object subResult = evaluate(concat.expression, null);
+                retVal += subResult != null ? subResult : concat.text;
             }
-
-            // Was not an expression
-            return expression.replace("$$", "$");
+            retVal += evaluate(concat.rest, null);
+            return retVal;
+        } else {
+            return evaluate((PluginParameterExpression.Whole) expr, type);
         }
+    }
+
+    private Object evaluate(PluginParameterExpression.Whole expr, Class<?> type) throws ExpressionEvaluationException {
+        String expression = expr.expression;
+        Object value = null;
 
-        Map<String, Object> objects = new HashMap<>();
-        objects.put("session.", session);
-        objects.put("project.", project);
-        objects.put("mojo.", mojoExecution);
-        objects.put("settings.", session.getSettings());
-        for (Map.Entry<String, Object> ctx : objects.entrySet()) {
-            if (expression.startsWith(ctx.getKey())) {
-                try {
-                    int pathSeparator = expression.indexOf('/');
-                    if (pathSeparator > 0) {
-                        String pathExpression = expression.substring(0, pathSeparator);
-                        value = ReflectionValueExtractor.evaluate(pathExpression, ctx.getValue());
-                        if (pathSeparator < expression.length() - 1) {
-                            if (value instanceof Path) {
-                                value = ((Path) value).resolve(expression.substring(pathSeparator + 1));
-                            } else {
-                                value = value + expression.substring(pathSeparator);
-                            }
-                        }
+        if (expr.root != PluginParameterExpression.Whole.NONE) {
+            Object root =
+                    switch (expr.root) {
+                        case PluginParameterExpression.Whole.SESSION -> session;
+                        case PluginParameterExpression.Whole.PROJECT -> project;
+                        case PluginParameterExpression.Whole.MOJO -> mojoExecution;
+                        default -> session.getSettings();
+                    };
+            try {
+                value = expr.path.evaluate(root);
+                if (expr.filePath != null) {
+                    if (value instanceof Path) {
+                        value = ((Path) value).resolve(expr.filePath.substring(1));
                     } else {
-                        value = ReflectionValueExtractor.evaluate(expression, ctx.getValue());
+                        value = value + expr.filePath;
                     }
-                    break;
-                } catch (Exception e) {
-                    // TODO don't catch exception
-                    throw new ExpressionEvaluationException(
-                            "Error evaluating plugin parameter expression: " + expression, e);
                 }
+            } catch (Exception e) {
+                // TODO don't catch exception
+                throw new ExpressionEvaluationException(
+                        "Error evaluating plugin parameter expression: " + expression, e);
             }
         }
 
@@ -217,13 +200,6 @@ private static boolean isTypeCompatible(Class<?> type, Object value) {
                 && value.getClass().getName().startsWith("java.lang."));
     }
 
-    private String stripTokens(String expr) {
-        if (expr.startsWith("${") && (expr.indexOf('}') == expr.length() - 1)) {
-            expr = expr.substring(2, expr.length() - 1);
-        }
-        return expr;
-    }
-
     @Override
     public File alignToBaseDirectory(File file) {
         // TODO Copied from the DefaultInterpolator. We likely want to resurrect the PathTranslator or at least a
@@ -44,6 +44,7 @@
 import java.util.zip.ZipEntry;
 
 import org.apache.maven.RepositoryUtils;
+import org.apache.maven.api.Constants;
 import org.apache.maven.api.Dependency;
 import org.apache.maven.api.Node;
 import org.apache.maven.api.PathScope;
@@ -123,6 +124,7 @@
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.aether.util.filter.AndDependencyFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -165,6 +167,7 @@ public class DefaultMavenPluginManager implements MavenPluginManager {
     private final List<MavenPluginPrerequisitesChecker> prerequisitesCheckers;
     private final ExtensionDescriptorBuilder extensionDescriptorBuilder = new ExtensionDescriptorBuilder();
     private final PluginDescriptorBuilder builder = new PluginDescriptorBuilder();
+    private final PluginDescriptorIndex pluginDescriptorIndex = new PluginDescriptorIndex(builder);
 
     @Inject
     @SuppressWarnings("checkstyle:ParameterNumber")
@@ -206,7 +209,7 @@ public PluginDescriptor getPluginDescriptor(
 
             Artifact pluginArtifact = RepositoryUtils.toArtifact(artifact);
 
-            PluginDescriptor descriptor = extractPluginDescriptor(pluginArtifact, plugin);
+            PluginDescriptor descriptor = extractPluginDescriptor(pluginArtifact, plugin, session);
 
             boolean isBlankVersion = descriptor.getRequiredMavenVersion() == null
                     || descriptor.getRequiredMavenVersion().trim().isEmpty();
@@ -224,14 +227,23 @@ public PluginDescriptor getPluginDescriptor(
         return pluginDescriptor;
     }
 
-    private PluginDescriptor extractPluginDescriptor(Artifact pluginArtifact, Plugin plugin)
+    private PluginDescriptor extractPluginDescriptor(
+            Artifact pluginArtifact, Plugin plugin, RepositorySystemSession session)
             throws PluginDescriptorParsingException, InvalidPluginDescriptorException {
         PluginDescriptor pluginDescriptor = null;
 
         File pluginFile = pluginArtifact.getFile();
 
         try {
-            if (pluginFile.isFile()) {
+            if (pluginFile.isFile()
+                    && ConfigUtils.getBoolean(session, false, Constants.MAVEN_PLUGIN_DESCRIPTOR_INDEX)) {
+                try {
+                    pluginDescriptor = pluginDescriptorIndex.getPluginDescriptor(
+                            pluginFile.toPath(), pluginFile.getAbsolutePath());
+                } catch (PlexusConfigurationException e) {
+                    throw new PluginDescriptorParsingException(plugin, pluginFile.getAbsolutePath(), e);
+                }
+            } else if (pluginFile.isFile()) {
                 try (JarFile pluginJar = new JarFile(pluginFile, false)) {
                     ZipEntry pluginDescriptorEntry = pluginJar.getEntry(getPluginDescriptorLocation());
 
@@ -993,7 +1005,7 @@ public ExtensionRealmCache.CacheRecord setupExtensionsRealm(
                 // ignore plugin descriptor parsing errors at this point
                 // these errors will reported during calculation of project build execution plan
                 try {
-                    pluginDescriptor = extractPluginDescriptor(artifacts.get(0), plugin);
+                    pluginDescriptor = extractPluginDescriptor(artifacts.get(0), plugin, session);
                 } catch (PluginDescriptorParsingException | InvalidPluginDescriptorException e) {
                     // ignore, see above
                 }
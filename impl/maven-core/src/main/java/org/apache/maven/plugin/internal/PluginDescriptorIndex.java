@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.internal;
+
+import javax.xml.stream.XMLStreamException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.internal.xml.XmlNodeImpl;
+import org.apache.maven.internal.xml.XmlNodeStaxBuilder;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptorBuilder;
+import org.codehaus.plexus.configuration.PlexusConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An on-disk index of the plugin descriptors, so that the plugin JARs do not need to be opened and
+ * their {@code META-INF/maven/plugin.xml} parsed again in each build.
+ * <p>
+ * The index of a plugin JAR is stored next to it (usually in the local repository), in a file named after
+ * the JAR with a {@value #EXTENSION} extension.  It is keyed by the size, the last modified time and the
+ * checksum of the end of the JAR, which holds the zip central directory and thus the checksums of all the
+ * entries, so that a modified JAR is detected without reading it fully.  Descriptors using the legacy format
+ * are stored as a pre-parsed tree, while descriptors using the {@value PluginDescriptorBuilder#PLUGIN_2_0_0}
+ * namespace are stored as is.
+ * <p>
+ * The index is a best effort: a missing, stale or unreadable index file is simply ignored and rewritten,
+ * and a failure to write it (for example, with a read-only local repository) is ignored.
+ *
+ * @since 4.0.0
+ */
+class PluginDescriptorIndex {
+
+    static final String EXTENSION = ".descriptor";
+
+    private static final String PLUGIN_DESCRIPTOR_LOCATION = "META-INF/maven/plugin.xml";
+
+    private static final int MAGIC = 0x4d564e50;
+    private static final int FORMAT = 1;
+    private static final int KIND_NODE = 0;
+    private static final int KIND_XML = 1;
+    private static final int CHECKSUM_LENGTH = 64 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final PluginDescriptorBuilder builder;
+
+    PluginDescriptorIndex(PluginDescriptorBuilder builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Returns the descriptor of the given plugin JAR, from the index if it is up-to-date, else by reading
+     * the JAR and updating the index.
+     *
+     * @return the descriptor, or {@code null} if the JAR does not contain any plugin descriptor
+     */
+    PluginDescriptor getPluginDescriptor(Path pluginJar, String source)
+            throws IOException, PlexusConfigurationException {
+        Key key = Key.of(pluginJar);
+        Object descriptor = read(pluginJar, key);
+        if (descriptor == null) {
+            descriptor = extract(pluginJar);
+            if (descriptor == null) {
+                return null;
+            }
+            write(pluginJar, key, descriptor);
+        }
+        if (descriptor instanceof XmlNode node) {
+            return builder.build(node, source);
+        } else {
+            byte[] xml = (byte[]) descriptor;
+            return builder.build(() -> new ByteArrayInputStream(xml), source);
+        }
+    }
+
+    static Path indexFile(Path pluginJar) {
+        return pluginJar.resolveSibling(pluginJar.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Reads the indexed descriptor, either a {@link XmlNode} or the {@code byte[]} of the descriptor.
+     *
+     * @return the descriptor, or {@code null} if the index is missing, out-of-date or unreadable
+     */
+    Object read(Path pluginJar, Key key) {
+        Path file = indexFile(pluginJar);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+            if (in.readInt() != MAGIC
+                    || in.readInt() != FORMAT
+                    || !key.equals(new Key(in.readLong(), in.readLong(), in.readLong()))) {
+                return null;
+            }
+            int kind = in.readByte();
+            if (kind == KIND_NODE) {
+                return new NodeReader(in).readNode();
+            } else if (kind == KIND_XML) {
+                int length = in.readInt();
+                byte[] xml = in.readNBytes(length);
+                return xml.length == length ? xml : null;
+            }
+            return null;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Ignoring the plugin descriptor index {}: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    private static Object extract(Path pluginJar) throws IOException, PlexusConfigurationException {
+        byte[] xml;
+        try (JarFile jar = new JarFile(pluginJar.toFile(), false)) {
+            ZipEntry entry = jar.getEntry(PLUGIN_DESCRIPTOR_LOCATION);
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream is = jar.getInputStream(entry)) {
+                xml = is.readAllBytes();
+            }
+        }
+        XmlNode node;
+        try {
+            node = XmlNodeStaxBuilder.build(new ByteArrayInputStream(xml), null);
+        } catch (XMLStreamException e) {
+            throw new PlexusConfigurationException(e.getMessage(), e);
+        }
+        return PluginDescriptorBuilder.PLUGIN_2_0_0.equals(node.getNamespaceUri()) ? xml : node;
+    }
+
+    private void write(Path pluginJar, Key key, Object descriptor) {
+        Path file = indexFile(pluginJar);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(key.size());
+                out.writeLong(key.lastModified());
+                out.writeLong(key.checksum());
+                if (descriptor instanceof XmlNode node) {
+                    out.writeByte(KIND_NODE);
+                    new NodeWriter(out).writeNode(node);
+                } else {
+                    byte[] xml = (byte[]) descriptor;
+                    out.writeByte(KIND_XML);
+                    out.writeInt(xml.length);
+                    out.write(xml);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.debug("Unable to write the plugin descriptor index {}: {}", file, e.toString());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * The key of a plugin JAR: its size, last modified time and the checksum of its last bytes.
+     */
+    record Key(long size, long lastModified, long checksum) {
+
+        static Key of(Path jar) throws IOException {
+            try (FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+                long size = channel.size();
+                int length = (int) Math.min(size, CHECKSUM_LENGTH);
+                ByteBuffer buffer = ByteBuffer.allocate(length);
+                long position = size - length;
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of file " + jar);
+                    }
+                }
+                CRC32 crc = new CRC32();
+                crc.update(buffer.flip());
+                return new Key(size, Files.getLastModifiedTime(jar).toMillis(), crc.getValue());
+            }
+        }
+    }
+
+    /**
+     * Writes a node tree, with a table of the strings already written, as the element and attribute
+     * names are repeated a lot in a plugin descriptor.
+     */
+    private static class NodeWriter {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        NodeWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeNode(XmlNode node) throws IOException {
+            writeString(node.getPrefix());
+            writeString(node.getNamespaceUri());
+            writeString(node.getName());
+            writeString(node.getValue());
+            Map<String, String> attributes = node.getAttributes();
+            writeVarInt(attributes.size());
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                writeString(attribute.getKey());
+                writeString(attribute.getValue());
+            }
+            List<XmlNode> children = node.getChildren();
+            writeVarInt(children.size());
+            for (XmlNode child : children) {
+                writeNode(child);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index + 2);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(1);
+                writeVarInt(bytes.length);
+                out.write(bytes);
+                strings.put(value, strings.size());
+            }
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+    }
+
+    /**
+     * Reads a node tree written by {@link NodeWriter}.
+     */
+    private static class NodeReader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        NodeReader(DataInputStream in) {
+            this.in = in;
+        }
+
+        XmlNode readNode() throws IOException {
+            String prefix = readString();
+            String namespaceUri = readString();
+            String name = readString();
+            String value = readString();
+            int attributeCount = readVarInt();
+            Map<String, String> attributes = new LinkedHashMap<>();
+            for (int i = 0; i < attributeCount; i++) {
+                String key = readString();
+                attributes.put(key, readString());
+            }
+            int childCount = readVarInt();
+            List<XmlNode> children = new ArrayList<>(childCount);
+            for (int i = 0; i < childCount; i++) {
+                children.add(readNode());
+            }
+            return new XmlNodeImpl(prefix, namespaceUri, name, value, attributes, children, null);
+        }
+
+        private String readString() throws IOException {
+            int tag = readVarInt();
+            if (tag == 0) {
+                return null;
+            } else if (tag == 1) {
+                String value = new String(in.readNBytes(readVarInt()), StandardCharsets.UTF_8);
+                strings.add(value);
+                return value;
+            } else {
+                return strings.get(tag - 2);
+            }
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.readByte();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
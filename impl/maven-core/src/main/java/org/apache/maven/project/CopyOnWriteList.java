@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.project;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list whose elements can be shared with the copies made by {@link #fork()}. The elements are only copied when
+ * either the list or one of its forks is modified, so that cloning a project for a forked lifecycle does not copy
+ * collections that the forked mojos never modify.
+ * <p>
+ * Like {@link ArrayList}, this list is not thread-safe.
+ *
+ * @since 4.0.0
+ */
+final class CopyOnWriteList<E> extends AbstractList<E> implements RandomAccess {
+
+    private List<E> elements;
+
+    private boolean shared;
+
+    CopyOnWriteList() {
+        this.elements = new ArrayList<>();
+    }
+
+    CopyOnWriteList(Collection<? extends E> elements) {
+        this.elements = new ArrayList<>(elements);
+    }
+
+    private CopyOnWriteList(List<E> elements, boolean shared) {
+        this.elements = elements;
+        this.shared = shared;
+    }
+
+    /**
+     * Creates a copy of the given list, sharing its elements if it is a {@code CopyOnWriteList}.
+     */
+    static <E> CopyOnWriteList<E> copyOf(List<E> list) {
+        return list instanceof CopyOnWriteList<E> cow ? cow.fork() : new CopyOnWriteList<>(list);
+    }
+
+    /**
+     * Returns a copy of this list which shares its elements until either list is modified.
+     */
+    CopyOnWriteList<E> fork() {
+        shared = true;
+        return new CopyOnWriteList<>(elements, true);
+    }
+
+    private List<E> writable() {
+        if (shared) {
+            elements = new ArrayList<>(elements);
+            shared = false;
+        }
+        modCount++;
+        return elements;
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return elements.contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return elements.indexOf(o);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return writable().set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        writable().add(index, element);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        return !c.isEmpty() && writable().addAll(index, c);
+    }
+
+    @Override
+    public E remove(int index) {
+        return writable().remove(index);
+    }
+
+    @Override
+    public void clear() {
+        if (!elements.isEmpty()) {
+            writable().clear();
+        }
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        writable().subList(fromIndex, toIndex).clear();
+    }
+}
@@ -30,6 +30,7 @@
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.api.DependencyScope;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.internal.impl.resolver.CollectResultCache;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Exclusion;
@@ -85,10 +86,13 @@ public DependencyResolutionResult resolve(DependencyResolutionRequest request)
             session = verbose;
         }
 
+        // the sessions decorated for a project may collect different graphs than the other projects
+        boolean cacheable = true;
         for (RepositorySessionDecorator decorator : decorators) {
             RepositorySystemSession decorated = decorator.decorate(project, session);
             if (decorated != null) {
                 session = decorated;
+                cacheable = false;
             }
         }
 
@@ -153,7 +157,10 @@ public DependencyResolutionResult resolve(DependencyResolutionRequest request)
         DependencyNode node;
         try {
             collect.setTrace(RequestTrace.newChild(trace, depRequest));
-            node = repoSystem.collectDependencies(session, collect).getRoot();
+            node = (cacheable
+                            ? CollectResultCache.collectDependencies(repoSystem, session, collect)
+                            : repoSystem.collectDependencies(session, collect))
+                    .getRoot();
             result.setDependencyGraph(node);
         } catch (DependencyCollectionException e) {
             result.setDependencyGraph(e.getResult().getRoot());
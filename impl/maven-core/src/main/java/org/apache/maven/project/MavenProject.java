@@ -32,6 +32,7 @@
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.apache.maven.RepositoryUtils;
@@ -129,17 +130,22 @@ public class MavenProject implements Cloneable {
 
     private List<RemoteRepository> remotePluginRepositories;
 
-    private List<Artifact> attachedArtifacts = new ArrayList<>();
+    private List<Artifact> attachedArtifacts = new CopyOnWriteList<>();
+
+    /**
+     * The attached artifacts by versionless id, see {@link #getAttachedArtifact(String)}.
+     */
+    private Map<String, Artifact> attachedArtifactsById = new ConcurrentHashMap<>();
 
     private MavenProject executionProject;
 
     private List<MavenProject> collectedProjects;
 
-    private List<String> compileSourceRoots = new ArrayList<>();
+    private List<String> compileSourceRoots = new CopyOnWriteList<>();
 
-    private List<String> testCompileSourceRoots = new ArrayList<>();
+    private List<String> testCompileSourceRoots = new CopyOnWriteList<>();
 
-    private List<String> scriptSourceRoots = new ArrayList<>();
+    private List<String> scriptSourceRoots = new CopyOnWriteList<>();
 
     private ArtifactRepository releaseArtifactRepository;
 
@@ -831,12 +837,42 @@ public void addAttachedArtifact(Artifact artifact) throws DuplicateArtifactAttac
         int index = attachedArtifacts.indexOf(artifact);
         if (index >= 0) {
             LOGGER.warn("artifact '{}' already attached, replacing previous instance", artifact);
-            attachedArtifacts.set(index, artifact);
+            Artifact previous = attachedArtifacts.set(index, artifact);
+            if (artifact != null) {
+                attachedArtifactsById.replace(toVersionlessId(previous), previous, artifact);
+            }
         } else {
             attachedArtifacts.add(artifact);
+            if (artifact != null) {
+                attachedArtifactsById.putIfAbsent(toVersionlessId(artifact), artifact);
+            }
         }
     }
 
+    /**
+     * Returns the first attached artifact with the given versionless id, i.e. formatted as
+     * <code>groupId:artifactId:extension[:classifier]</code>, without going through all the attached artifacts.
+     *
+     * @param versionlessId the versionless id of the artifact
+     * @return the attached artifact, or {@code null} if there is none
+     * @since 4.0.0
+     */
+    public Artifact getAttachedArtifact(String versionlessId) {
+        return attachedArtifactsById.get(versionlessId);
+    }
+
+    private static String toVersionlessId(Artifact artifact) {
+        ArtifactHandler handler = artifact.getArtifactHandler();
+        String extension = handler != null && handler.getExtension() != null ? handler.getExtension() : "";
+        String classifier = artifact.getClassifier();
+        return artifact.getGroupId()
+                + ':'
+                + artifact.getArtifactId()
+                + ':'
+                + extension
+                + (classifier != null && !classifier.isEmpty() ? ":" + classifier : "");
+    }
+
     /**
      * Returns a read-only list of the attached artifacts to this project.
      *
@@ -844,7 +880,7 @@ public void addAttachedArtifact(Artifact artifact) throws DuplicateArtifactAttac
      */
     public List<Artifact> getAttachedArtifacts() {
         if (attachedArtifacts == null) {
-            attachedArtifacts = new ArrayList<>();
+            attachedArtifacts = new CopyOnWriteList<>();
         }
         return Collections.unmodifiableList(attachedArtifacts);
     }
@@ -1041,6 +1077,15 @@ public void setModel(Model model) {
 
     protected void setAttachedArtifacts(List<Artifact> attachedArtifacts) {
         this.attachedArtifacts = attachedArtifacts;
+        Map<String, Artifact> byId = new ConcurrentHashMap<>();
+        if (attachedArtifacts != null) {
+            for (Artifact artifact : attachedArtifacts) {
+                if (artifact != null) {
+                    byId.putIfAbsent(toVersionlessId(artifact), artifact);
+                }
+            }
+        }
+        this.attachedArtifactsById = byId;
     }
 
     protected void setCompileSourceRoots(List<String> compileSourceRoots) {
@@ -1106,25 +1151,27 @@ private void deepCopy(MavenProject project) {
             setActiveProfiles((Collections.unmodifiableList(project.getActiveProfiles())));
         }
 
-        if (project.getAttachedArtifacts() != null) {
-            // clone properties modifiable by plugins in a forked lifecycle
-            setAttachedArtifacts(new ArrayList<>(project.getAttachedArtifacts()));
-        }
+        // clone properties modifiable by plugins in a forked lifecycle: the copies share their elements
+        // with the original lists until either side is modified
+        setAttachedArtifacts(
+                project.attachedArtifacts != null
+                        ? CopyOnWriteList.copyOf(project.attachedArtifacts)
+                        : new CopyOnWriteList<>());
 
         if (project.getCompileSourceRoots() != null) {
-            // clone source roots
-            setCompileSourceRoots((new ArrayList<>(project.getCompileSourceRoots())));
+            setCompileSourceRoots(CopyOnWriteList.copyOf(project.getCompileSourceRoots()));
         }
 
         if (project.getTestCompileSourceRoots() != null) {
-            setTestCompileSourceRoots((new ArrayList<>(project.getTestCompileSourceRoots())));
+            setTestCompileSourceRoots(CopyOnWriteList.copyOf(project.getTestCompileSourceRoots()));
         }
 
         if (project.getScriptSourceRoots() != null) {
-            setScriptSourceRoots((new ArrayList<>(project.getScriptSourceRoots())));
+            setScriptSourceRoots(CopyOnWriteList.copyOf(project.getScriptSourceRoots()));
         }
 
         if (project.getModel() != null) {
+            // the v3 model clone shares the immutable v4 model until it is modified
             setModel(project.getModel().clone());
         }
 
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReactorReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOutputFingerprint() throws Exception {
+        Path classes = directory.resolve("classes");
+        Path a = Files.createDirectories(classes.resolve("org/apache/maven")).resolve("A.class");
+        Path b = classes.resolve("org/B.class");
+        Files.writeString(a, "a");
+        Files.writeString(b, "b");
+        Files.setLastModifiedTime(a, FileTime.fromMillis(2_000_000));
+        Files.setLastModifiedTime(b, FileTime.fromMillis(1_000_000));
+
+        ReactorReader.OutputFingerprint fingerprint = ReactorReader.OutputFingerprint.of(classes);
+        assertEquals(new ReactorReader.OutputFingerprint(a, 2_000_000, 2), fingerprint);
+    }
+
+    @Test
+    void testMissingOutputDirectory() throws Exception {
+        ReactorReader.OutputFingerprint fingerprint = ReactorReader.OutputFingerprint.of(directory.resolve("classes"));
+        assertNull(fingerprint.newestFile());
+        assertEquals(0, fingerprint.fileCount());
+    }
+}
@@ -30,6 +30,8 @@
 import org.apache.maven.project.MavenProject;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class BuildPlanCreatorTest {
@@ -78,6 +80,52 @@ protected void mojo(Consumer<String> writer, MojoExecution mojoExecution) {}
         });
     }
 
+    @Test
+    void testPendingPredecessors() {
+        MavenProject p1 = new MavenProject();
+        p1.setArtifactId("p1");
+        MavenProject p2 = new MavenProject();
+        p2.setArtifactId("p2");
+        Map<MavenProject, List<MavenProject>> projects = new HashMap<>();
+        projects.put(p1, Collections.emptyList());
+        projects.put(p2, Collections.singletonList(p1));
+
+        BuildPlan plan = calculateLifecycleMappings(projects, "verify");
+
+        BuildStep compile = plan.requiredStep(p2, "before:compile");
+        int pending = compile.arm();
+        assertEquals(compile.predecessors.size(), pending);
+        assertTrue(pending > 1, "Expected inter-project predecessors for " + compile);
+
+        List<BuildStep> preds = List.copyOf(compile.predecessors);
+        preds.get(0).status.set(BuildStep.EXECUTED);
+        assertEquals(pending - 1, compile.arm());
+        for (int i = 1; i < preds.size() - 1; i++) {
+            assertFalse(compile.release());
+        }
+        assertTrue(compile.release());
+    }
+
+    @Test
+    void testCriticalPathWeights() {
+        MavenProject p1 = new MavenProject();
+        p1.setArtifactId("p1");
+        MavenProject p2 = new MavenProject();
+        p2.setArtifactId("p2");
+        Map<MavenProject, List<MavenProject>> projects = new HashMap<>();
+        projects.put(p1, Collections.emptyList());
+        projects.put(p2, Collections.singletonList(p1));
+
+        BuildPlan plan = calculateLifecycleMappings(projects, "verify");
+        plan.computeWeights(step -> 1);
+
+        plan.allSteps()
+                .forEach(step -> step.successors.forEach(successor -> assertTrue(
+                        step.weight > successor.weight, "Step " + step + " should weight more than " + successor)));
+        assertTrue(plan.requiredStep(p1, "compile").weight > plan.requiredStep(p2, "compile").weight);
+        plan.allSteps().filter(step -> step.successors.isEmpty()).forEach(step -> assertEquals(1, step.weight));
+    }
+
     @Test
     void testAlias() {
         MavenProject p1 = new MavenProject();
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal.concurrent;
+
+import java.nio.file.Path;
+
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class BuildTimingsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordSaveAndLoad() throws Exception {
+        MavenProject p1 = project("p1");
+        MavenProject p2 = project("p2");
+        MojoExecution compile = execution("compile", "default-compile");
+        MojoExecution test = execution("test", "default-test");
+        Path file = tempDir.resolve("timings.properties");
+
+        BuildTimings timings = BuildTimings.load(file);
+        assertFalse(timings.predicted(p1, compile).isPresent());
+        timings.record(p1, compile, 100);
+        timings.record(p1, test, 1000);
+        timings.record(p2, compile, 300);
+        assertEquals(100, timings.actual(p1, compile).getAsLong());
+        timings.save();
+
+        BuildTimings loaded = BuildTimings.load(file);
+        assertEquals(100, loaded.predicted(p1, compile).getAsLong());
+        assertFalse(loaded.actual(p1, compile).isPresent());
+        assertEquals(1000, loaded.estimate(p1, test));
+        // unknown execution of a known goal: average of the goal
+        assertEquals(1000, loaded.estimate(p2, test));
+        // unknown goal: average of all executions
+        assertEquals(467, loaded.estimate(p2, execution("jar", "default-jar")));
+    }
+
+    @Test
+    void testEstimateWithoutHistory() {
+        BuildTimings timings = new BuildTimings();
+        assertEquals(1, timings.estimate(project("p1"), execution("compile", "default-compile")));
+    }
+
+    private static MavenProject project(String artifactId) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.apache.maven.test");
+        project.setArtifactId(artifactId);
+        return project;
+    }
+
+    private static MojoExecution execution(String goal, String executionId) {
+        PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId("org.apache.maven.plugins");
+        pluginDescriptor.setArtifactId("maven-test-plugin");
+        MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setGoal(goal);
+        mojoDescriptor.setPluginDescriptor(pluginDescriptor);
+        return new MojoExecution(mojoDescriptor, executionId);
+    }
+}
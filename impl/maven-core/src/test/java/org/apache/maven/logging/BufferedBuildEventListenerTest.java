@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BufferedBuildEventListenerTest {
+
+    List<String> output = new ArrayList<>();
+
+    List<String> status = new ArrayList<>();
+
+    @Test
+    void testProjectLogsAreWrittenWhenProjectsFinish() {
+        BufferedBuildEventListener listener = new BufferedBuildEventListener(output::add, status::add, 1024);
+        listener.projectLogMessage(null, "start");
+        listener.projectStarted("a");
+        listener.projectStarted("b");
+        listener.projectLogMessage("a", "a1");
+        listener.projectLogMessage("b", "b1");
+        listener.projectLogMessage("a/forked", "a2");
+        listener.projectLogMessage("b", "b2");
+        assertEquals(List.of("start"), output);
+
+        listener.projectFinished("b");
+        listener.projectLogMessage("b", "late");
+        listener.projectFinished("a");
+        listener.close();
+        assertEquals(List.of("start", "b1", "b2", "late", "a1", "a2"), output);
+        assertEquals(List.of("[0] Building a", "[0] Building a, b", "[1] Building a", "[2]", ""), status);
+    }
+
+    @Test
+    void testLargeProjectLogsAreSpilled() {
+        BufferedBuildEventListener listener = new BufferedBuildEventListener(output::add, null, 100);
+        List<String> expected = new ArrayList<>();
+        listener.projectStarted("a");
+        for (int i = 0; i < 1000; i++) {
+            listener.projectLogMessage("a", "message " + i);
+            expected.add("message " + i);
+        }
+        assertEquals(List.of(), output);
+
+        listener.projectFinished("a");
+        assertEquals(expected, output);
+    }
+
+    @Test
+    void testUnfinishedProjectLogsAreWrittenWhenClosed() throws Exception {
+        BufferedBuildEventListener listener = new BufferedBuildEventListener(output::add, null, 1024);
+        listener.projectStarted("a");
+        listener.projectStarted("b");
+        listener.projectLogMessage("b", "b1");
+        listener.projectLogMessage("a", "a1");
+        listener.finish(1);
+        assertEquals(List.of("a1", "b1"), output);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptorBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PluginDescriptorIndexTest {
+
+    private static final String LEGACY =
+            """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <plugin>
+              <name>Test Plugin</name>
+              <groupId>org.apache.maven.its</groupId>
+              <artifactId>test-maven-plugin</artifactId>
+              <version>%s</version>
+              <goalPrefix>test</goalPrefix>
+              <mojos>
+                <mojo>
+                  <goal>touch</goal>
+                  <implementation>org.apache.maven.its.TouchMojo</implementation>
+                  <parameters>
+                    <parameter>
+                      <name>outputDirectory</name>
+                      <type>java.io.File</type>
+                      <required>true</required>
+                      <editable>true</editable>
+                    </parameter>
+                  </parameters>
+                  <configuration>
+                    <outputDirectory implementation="java.io.File" default-value="${project.build.directory}"/>
+                  </configuration>
+                </mojo>
+              </mojos>
+              <dependencies/>
+            </plugin>
+            """;
+
+    private static final String PLUGIN_2_0_0 =
+            """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <plugin xmlns="http://maven.apache.org/PLUGIN/2.0.0">
+              <groupId>org.apache.maven.its</groupId>
+              <artifactId>test-maven-plugin</artifactId>
+              <version>2.0</version>
+              <goalPrefix>test</goalPrefix>
+              <mojos>
+                <mojo>
+                  <goal>touch</goal>
+                  <implementation>org.apache.maven.its.TouchMojo</implementation>
+                </mojo>
+              </mojos>
+            </plugin>
+            """;
+
+    @TempDir
+    Path directory;
+
+    PluginDescriptorIndex index = new PluginDescriptorIndex(new PluginDescriptorBuilder());
+
+    @Test
+    void testIndexedDescriptor() throws Exception {
+        Path jar = writeJar("test-maven-plugin-1.0.jar", LEGACY.formatted("1.0"));
+        PluginDescriptor first = index.getPluginDescriptor(jar, jar.toString());
+        assertTrue(Files.isRegularFile(PluginDescriptorIndex.indexFile(jar)));
+        assertInstanceOf(XmlNode.class, index.read(jar, PluginDescriptorIndex.Key.of(jar)));
+
+        PluginDescriptor second = index.getPluginDescriptor(jar, jar.toString());
+        assertEquals(first.getGoalPrefix(), second.getGoalPrefix());
+        assertEquals(jar.toString(), second.getSource());
+        MojoDescriptor mojo = second.getMojo("touch");
+        assertNotNull(mojo);
+        assertEquals("org.apache.maven.its.TouchMojo", mojo.getImplementation());
+        assertEquals(
+                "java.io.File", mojo.getParameterMap().get("outputDirectory").getType());
+        assertEquals(
+                "${project.build.directory}",
+                mojo.getMojoConfiguration().getChild("outputDirectory").getAttribute("default-value"));
+    }
+
+    @Test
+    void testModifiedJarDetected() throws Exception {
+        Path jar = writeJar("test-maven-plugin-1.0.jar", LEGACY.formatted("1.0"));
+        index.getPluginDescriptor(jar, jar.toString());
+        FileTime lastModified = Files.getLastModifiedTime(jar);
+
+        // same size and last modified time, but a different content
+        writeJar("test-maven-plugin-1.0.jar", LEGACY.formatted("1.1"));
+        Files.setLastModifiedTime(jar, lastModified);
+        assertNull(index.read(jar, PluginDescriptorIndex.Key.of(jar)));
+        assertEquals("1.1", index.getPluginDescriptor(jar, jar.toString()).getVersion());
+        assertNotNull(index.read(jar, PluginDescriptorIndex.Key.of(jar)));
+    }
+
+    @Test
+    void testCorruptedIndexIgnored() throws Exception {
+        Path jar = writeJar("test-maven-plugin-1.0.jar", LEGACY.formatted("1.0"));
+        Files.write(PluginDescriptorIndex.indexFile(jar), new byte[] {'M', 'V', 'N', 'P', 0, 0, 0, 1, 0});
+        assertNull(index.read(jar, PluginDescriptorIndex.Key.of(jar)));
+        assertEquals("1.0", index.getPluginDescriptor(jar, jar.toString()).getVersion());
+        assertNotNull(index.read(jar, PluginDescriptorIndex.Key.of(jar)));
+    }
+
+    @Test
+    void testPlugin200Descriptor() throws Exception {
+        Path jar = writeJar("test-maven-plugin-2.0.jar", PLUGIN_2_0_0);
+        index.getPluginDescriptor(jar, jar.toString());
+        assertInstanceOf(byte[].class, index.read(jar, PluginDescriptorIndex.Key.of(jar)));
+        PluginDescriptor descriptor = index.getPluginDescriptor(jar, jar.toString());
+        assertEquals("2.0", descriptor.getVersion());
+        assertEquals(
+                "org.apache.maven.its.TouchMojo", descriptor.getMojo("touch").getImplementation());
+    }
+
+    @Test
+    void testMissingDescriptor() throws Exception {
+        Path jar = writeJar("not-a-plugin-1.0.jar", null);
+        assertNull(index.getPluginDescriptor(jar, jar.toString()));
+        assertTrue(Files.notExists(PluginDescriptorIndex.indexFile(jar)));
+    }
+
+    private Path writeJar(String name, String descriptor) throws Exception {
+        Path jar = directory.resolve(name);
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("org/apache/maven/its/TouchMojo.class"));
+            out.write(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+            if (descriptor != null) {
+                out.putNextEntry(new JarEntry("META-INF/maven/plugin.xml"));
+                out.write(descriptor.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return jar;
+    }
+}
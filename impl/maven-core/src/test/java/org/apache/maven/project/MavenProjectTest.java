@@ -23,6 +23,9 @@
 import java.util.List;
 import java.util.Map;
 
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
@@ -33,6 +36,8 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MavenProjectTest extends AbstractMavenProjectTestCase {
@@ -212,6 +217,59 @@ void testAddDotFile() {
         assertEquals(1, project.getCompileSourceRoots().size());
     }
 
+    @Test
+    void testAttachedArtifactIndex() {
+        MavenProject project = new MavenProject();
+        Artifact sources = attached("sources", "java-source", "jar");
+        Artifact tests = attached("tests", "test-jar", "jar");
+        project.addAttachedArtifact(sources);
+        project.addAttachedArtifact(tests);
+        assertSame(sources, project.getAttachedArtifact("org.apache.maven.its:test:jar:sources"));
+        assertSame(tests, project.getAttachedArtifact("org.apache.maven.its:test:jar:tests"));
+        assertNull(project.getAttachedArtifact("org.apache.maven.its:test:jar"));
+
+        // replacing an attached artifact updates the index
+        Artifact replaced = attached("sources", "java-source", "jar");
+        project.addAttachedArtifact(replaced);
+        assertEquals(2, project.getAttachedArtifacts().size());
+        assertSame(replaced, project.getAttachedArtifact("org.apache.maven.its:test:jar:sources"));
+
+        // and clones have their own index
+        MavenProject clone = project.clone();
+        Artifact javadoc = attached("javadoc", "javadoc", "jar");
+        clone.addAttachedArtifact(javadoc);
+        assertSame(javadoc, clone.getAttachedArtifact("org.apache.maven.its:test:jar:javadoc"));
+        assertSame(replaced, clone.getAttachedArtifact("org.apache.maven.its:test:jar:sources"));
+        assertNull(project.getAttachedArtifact("org.apache.maven.its:test:jar:javadoc"));
+    }
+
+    @Test
+    void testCloneSourceRootsAreCopiedOnWrite() {
+        MavenProject project = new MavenProject();
+        File basedir = new File(System.getProperty("java.io.tmpdir"));
+        project.setFile(new File(basedir, "file"));
+        project.addCompileSourceRoot("src/main/java");
+
+        MavenProject clone = project.clone();
+        assertEquals(project.getCompileSourceRoots(), clone.getCompileSourceRoots());
+
+        clone.addCompileSourceRoot("target/generated-sources");
+        assertEquals(1, project.getCompileSourceRoots().size());
+        assertEquals(2, clone.getCompileSourceRoots().size());
+
+        project.addCompileSourceRoot("src/other/java");
+        project.getCompileSourceRoots().remove(0);
+        assertEquals(1, project.getCompileSourceRoots().size());
+        assertEquals(2, clone.getCompileSourceRoots().size());
+        assertEquals(new File(basedir, "src/main/java").getAbsolutePath(), clone.getCompileSourceRoots().get(0));
+    }
+
+    private static Artifact attached(String classifier, String type, String extension) {
+        DefaultArtifactHandler handler = new DefaultArtifactHandler(type);
+        handler.setExtension(extension);
+        return new DefaultArtifact("org.apache.maven.its", "test", "1.0", null, type, classifier, handler);
+    }
+
     private void assertNoNulls(List<String> elements) {
         assertFalse(elements.contains(null));
     }
@@ -22,6 +22,8 @@
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -42,6 +44,9 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -60,6 +65,13 @@ public class InjectorImpl implements Injector {
     private final Map<Key<?>, Set<Binding<?>>> bindings = new HashMap<>();
     private final Map<Class<? extends Annotation>, Supplier<Scope>> scopes = new HashMap<>();
     private final Set<String> loadedUrls = new HashSet<>();
+    private final Map<FactoryKey, Function<Object[], Object>> factories = new HashMap<>();
+    private final Map<Dependency<?>, Supplier<?>> compiledBindings = new ConcurrentHashMap<>();
+    /**
+     * Incremented before the compiled bindings are cleared, so that a binding compiled concurrently with a new
+     * binding or scope is not memoised.
+     */
+    private final AtomicInteger generation = new AtomicInteger();
 
     public InjectorImpl() {
         bindScope(Singleton.class, new SingletonScope());
@@ -86,6 +98,7 @@ public <T> void injectInstance(T instance) {
     @Override
     public Injector discover(ClassLoader classLoader) {
         try {
+            discoverFactories(classLoader);
             Enumeration<URL> enumeration = classLoader.getResources("META-INF/maven/org.apache.maven.api.di.Inject");
             while (enumeration.hasMoreElements()) {
                 URL url = enumeration.nextElement();
@@ -107,6 +120,34 @@ public Injector discover(ClassLoader classLoader) {
         return this;
     }
 
+    /**
+     * Loads the factories generated by the {@code DiIndexProcessor}, which create the components
+     * without calling their constructor reflectively.  The factories are registered with the class loader
+     * which defines them, as several class loaders, such as the realms of different plugins, may define
+     * components with the same class name.
+     */
+    @SuppressWarnings("unchecked")
+    private void discoverFactories(ClassLoader classLoader) throws Exception {
+        Enumeration<URL> enumeration = classLoader.getResources("META-INF/maven/org.apache.maven.api.di.Factory");
+        while (enumeration.hasMoreElements()) {
+            URL url = enumeration.nextElement();
+            if (loadedUrls.add(url.toExternalForm())) {
+                try (InputStream is = url.openStream();
+                        BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(is)))) {
+                    for (String line : reader.lines()
+                            .filter(l -> !l.startsWith("#") && l.indexOf('=') > 0)
+                            .toList()) {
+                        int idx = line.indexOf('=');
+                        String className = line.substring(0, idx).trim();
+                        Class<?> factory = classLoader.loadClass(line.substring(idx + 1).trim());
+                        factories.put(new FactoryKey(factory.getClassLoader(), className), (Function<Object[], Object>)
+                                factory.getConstructor().newInstance());
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public Injector bindScope(Class<? extends Annotation> scopeAnnotation, Scope scope) {
         return bindScope(scopeAnnotation, () -> scope);
@@ -118,6 +159,7 @@ public Injector bindScope(Class<? extends Annotation> scopeAnnotation, Supplier<
             throw new DIException(
                     "Cannot rebind scope annotation class to a different implementation: " + scopeAnnotation);
         }
+        clearCompiledBindings();
         return this;
     }
 
@@ -137,7 +179,9 @@ public Injector bindImplicit(Class<?> clazz) {
                 bindings.computeIfAbsent(Key.ofType(clazz), $ -> new HashSet<>());
             }
         } else if (!Modifier.isAbstract(clazz.getModifiers())) {
-            Binding<?> binding = ReflectionUtils.generateImplicitBinding(key);
+            // only use a factory defined along with the class, which thus creates instances of this class
+            Function<Object[], Object> factory = factories.get(new FactoryKey(clazz.getClassLoader(), clazz.getName()));
+            Binding<?> binding = ReflectionUtils.generateImplicitBinding(key, factory);
             doBind(key, binding);
         }
         return this;
@@ -168,10 +212,17 @@ private Injector doBind(Key<?> key, Binding<?> binding) {
 
     protected <U> Injector bind(Key<U> key, Binding<U> b) {
         Set<Binding<?>> bindingSet = bindings.computeIfAbsent(key, $ -> new HashSet<>());
-        bindingSet.add(b);
+        if (bindingSet.add(b)) {
+            clearCompiledBindings();
+        }
         return this;
     }
 
+    private void clearCompiledBindings() {
+        generation.incrementAndGet();
+        compiledBindings.clear();
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected <T> Set<Binding<T>> getBindings(Key<T> key) {
         return (Set) bindings.get(key);
@@ -185,7 +236,34 @@ public Map<Key<?>, Set<Binding<?>>> getBindings() {
         return bindings;
     }
 
+    /**
+     * Returns the compiled binding for the given dependency.  Compiled bindings are memoised until a new
+     * binding or scope is registered, so that repeated lookups of the same key do not compile the binding
+     * graph again.
+     * <p>
+     * Note that the Sisu bridge of Maven core overrides this method without calling it, as its bindings also
+     * come from the Plexus container, whose components can change at any time: the memoisation only applies
+     * to the injectors created with {@link Injector#create()}.
+     */
+    @SuppressWarnings("unchecked")
     public <Q> Supplier<Q> getCompiledBinding(Dependency<Q> dep) {
+        Supplier<Q> compiled = (Supplier<Q>) compiledBindings.get(dep);
+        if (compiled == null) {
+            int gen = generation.get();
+            // compiling may recursively compile the dependencies, so computeIfAbsent cannot be used
+            compiled = doGetCompiledBinding(dep);
+            Supplier<Q> existing = (Supplier<Q>) compiledBindings.putIfAbsent(dep, compiled);
+            if (existing != null) {
+                compiled = existing;
+            } else if (generation.get() != gen) {
+                // the bindings changed while compiling, the compiled binding may be stale
+                compiledBindings.remove(dep, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    protected <Q> Supplier<Q> doGetCompiledBinding(Dependency<Q> dep) {
         Key<Q> key = dep.key();
         Set<Binding<Q>> res = getBindings(key);
         if (res != null && !res.isEmpty()) {
@@ -379,28 +457,59 @@ public int size() {
         }
     }
 
+    private record FactoryKey(ClassLoader classLoader, String className) {}
+
     private static class SingletonScope implements Scope {
         Map<Key<?>, java.util.function.Supplier<?>> cache = new ConcurrentHashMap<>();
 
         @SuppressWarnings("unchecked")
         @Override
         public <T> java.util.function.Supplier<T> scope(Key<T> key, java.util.function.Supplier<T> unscoped) {
-            return (java.util.function.Supplier<T>)
-                    cache.computeIfAbsent(key, k -> new java.util.function.Supplier<T>() {
-                        volatile T instance;
+            return (java.util.function.Supplier<T>) cache.computeIfAbsent(key, k -> new SingletonSupplier<>(unscoped));
+        }
+    }
 
-                        @Override
-                        public T get() {
-                            if (instance == null) {
-                                synchronized (this) {
-                                    if (instance == null) {
-                                        instance = unscoped.get();
-                                    }
-                                }
-                            }
-                            return instance;
-                        }
-                    });
+    /**
+     * Supplier of a singleton, using double-checked locking: once the instance is published, it is read with
+     * a volatile-acquire read, and the lock is only taken until the instance is created, so that it is created
+     * once even if several threads need it.
+     */
+    private static class SingletonSupplier<T> implements java.util.function.Supplier<T> {
+        private static final VarHandle INSTANCE;
+
+        static {
+            try {
+                INSTANCE = MethodHandles.lookup().findVarHandle(SingletonSupplier.class, "instance", Object.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final java.util.function.Supplier<T> unscoped;
+        private final Lock lock = new ReentrantLock();
+        private Object instance;
+
+        SingletonSupplier(java.util.function.Supplier<T> unscoped) {
+            this.unscoped = unscoped;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get() {
+            Object value = INSTANCE.getAcquire(this);
+            if (value == null) {
+                lock.lock();
+                try {
+                    value = INSTANCE.getAcquire(this);
+                    if (value == null) {
+                        value = unscoped.get();
+                        INSTANCE.setRelease(this, value);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return (T) value;
         }
     }
 }
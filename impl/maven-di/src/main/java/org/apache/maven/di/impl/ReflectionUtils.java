@@ -153,7 +153,17 @@ public static <T extends AnnotatedElement & Member> List<T> getAnnotatedElements
     }
 
     public static <T> @Nullable Binding<T> generateImplicitBinding(Key<T> key) {
-        Binding<T> binding = generateConstructorBinding(key);
+        return generateImplicitBinding(key, null);
+    }
+
+    /**
+     * Generates the implicit binding of the given key, using the given factory, if any, to create the
+     * instances instead of calling the constructor reflectively.  The factory is generated at build time
+     * by the {@code DiIndexProcessor} and receives the arguments of the constructor.
+     */
+    public static <T> @Nullable Binding<T> generateImplicitBinding(
+            Key<T> key, @Nullable Function<Object[], Object> factory) {
+        Binding<T> binding = generateConstructorBinding(key, factory);
         if (binding != null) {
             Annotation scope = scopeOf(key.getRawType());
             if (scope != null) {
@@ -164,8 +174,13 @@ public static <T extends AnnotatedElement & Member> List<T> getAnnotatedElements
         return binding;
     }
 
-    @SuppressWarnings("unchecked")
     public static <T> @Nullable Binding<T> generateConstructorBinding(Key<T> key) {
+        return generateConstructorBinding(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> @Nullable Binding<T> generateConstructorBinding(
+            Key<T> key, @Nullable Function<Object[], Object> factory) {
         Class<?> cls = key.getRawType();
 
         List<Constructor<?>> constructors = Arrays.asList(cls.getDeclaredConstructors());
@@ -188,7 +203,7 @@ public static <T extends AnnotatedElement & Member> List<T> getAnnotatedElements
                 throw failedImplicitBinding(key, "both inject constructor and inject factory method are present");
             }
             return bindingFromConstructor(
-                    key, (Constructor<T>) injectConstructors.iterator().next());
+                    key, (Constructor<T>) injectConstructors.iterator().next(), factory);
         }
 
         if (!injectFactoryMethods.isEmpty()) {
@@ -215,7 +230,7 @@ public static <T extends AnnotatedElement & Member> List<T> getAnnotatedElements
                     key,
                     "inject annotation on local class that closes over outside variables and/or has no default constructor");
         }
-        return bindingFromConstructor(key, declaredConstructor);
+        return bindingFromConstructor(key, declaredConstructor, factory);
     }
 
     private static DIException failedImplicitBinding(Key<?> requestedKey, String message) {
@@ -349,31 +364,47 @@ public static <T> Binding<T> bindingFromMethod(Method method) {
     }
 
     public static <T> Binding<T> bindingFromConstructor(Key<T> key, Constructor<T> constructor) {
-        constructor.setAccessible(true);
+        return bindingFromConstructor(key, constructor, null);
+    }
 
+    @SuppressWarnings("unchecked")
+    private static <T> Binding<T> bindingFromConstructor(
+            Key<T> key, Constructor<T> constructor, @Nullable Function<Object[], Object> factory) {
         Dependency<?>[] dependencies = toDependencies(key.getType(), constructor);
 
-        Binding<T> binding = Binding.to(
-                key,
-                args -> {
-                    try {
-                        return constructor.newInstance(args);
-                    } catch (InstantiationException e) {
-                        throw new DIException(
-                                "Cannot instantiate object from the constructor " + constructor
-                                        + " to provide requested key " + key,
-                                e);
-                    } catch (IllegalAccessException e) {
-                        throw new DIException(
-                                "Not allowed to call constructor " + constructor + " to provide requested key " + key,
-                                e);
-                    } catch (InvocationTargetException e) {
-                        throw new DIException(
-                                "Failed to call constructor " + constructor + " to provide requested key " + key,
-                                e.getCause());
-                    }
-                },
-                dependencies);
+        Binding.TupleConstructorN<T> tupleConstructor;
+        if (factory != null) {
+            tupleConstructor = args -> {
+                try {
+                    return (T) factory.apply(args);
+                } catch (RuntimeException e) {
+                    throw new DIException(
+                            "Failed to call constructor " + constructor + " to provide requested key " + key, e);
+                }
+            };
+        } else {
+            constructor.setAccessible(true);
+            tupleConstructor = args -> {
+                try {
+                    return constructor.newInstance(args);
+                } catch (InstantiationException e) {
+                    throw new DIException(
+                            "Cannot instantiate object from the constructor " + constructor
+                                    + " to provide requested key " + key,
+                            e);
+                } catch (IllegalAccessException e) {
+                    throw new DIException(
+                            "Not allowed to call constructor " + constructor + " to provide requested key " + key,
+                            e);
+                } catch (InvocationTargetException e) {
+                    throw new DIException(
+                            "Failed to call constructor " + constructor + " to provide requested key " + key,
+                            e.getCause());
+                }
+            };
+        }
+
+        Binding<T> binding = Binding.to(key, tupleConstructor, dependencies);
 
         Priority priority = constructor.getDeclaringClass().getAnnotation(Priority.class);
         if (priority != null) {
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.di.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.di.Inject;
+import org.apache.maven.api.di.Named;
+import org.apache.maven.api.di.Singleton;
+import org.apache.maven.di.Injector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of {@link Injector#getInstance(Class)} lookups from several threads, for a singleton
+ * and for a component created for each lookup.
+ * <p>
+ * This measures the injector created by {@link Injector#create()}, which memoises the compiled bindings.
+ * The Sisu bridge used by Maven core compiles the bindings on each lookup, as they also depend on the
+ * Plexus container, so its lookups do not benefit from the memoisation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(time = 10)
+@Threads(8)
+@State(Scope.Benchmark)
+public class InjectorImplPerfTest {
+
+    private Injector injector;
+
+    @Setup
+    public void setup() {
+        injector = Injector.create().bindImplicit(Components.class);
+    }
+
+    @Benchmark
+    public Object singleton() {
+        return injector.getInstance(Components.Repository.class);
+    }
+
+    @Benchmark
+    public Object prototype() {
+        return injector.getInstance(Components.Resolver.class);
+    }
+
+    static class Components {
+        @Named
+        @Singleton
+        static class Repository {}
+
+        @Named
+        @Singleton
+        static class Transport {}
+
+        @Named
+        static class Resolver {
+            @Inject
+            Repository repository;
+
+            @Inject
+            Resolver(Transport transport) {}
+        }
+    }
+
+    /**
+     * <p>main.</p>
+     *
+     * @param args a {@link String} object.
+     * @throws org.openjdk.jmh.runner.RunnerException if any.
+     */
+    public static void main(String... args) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(InjectorImplPerfTest.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opts).run();
+    }
+}
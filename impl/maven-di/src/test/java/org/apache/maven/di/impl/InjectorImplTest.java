@@ -18,12 +18,22 @@
  */
 package org.apache.maven.di.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Retention;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.maven.api.annotations.Nullable;
 import org.apache.maven.api.di.Inject;
@@ -36,6 +46,7 @@
 import org.apache.maven.di.Injector;
 import org.apache.maven.di.Key;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -44,6 +55,7 @@
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @SuppressWarnings("unused")
 public class InjectorImplTest {
@@ -56,6 +68,140 @@ void markerQualifierTest() {
         assertInstanceOf(QualifierTest.MyQualifiedServiceImpl.class, mojo.service);
     }
 
+    @Test
+    void compiledBindingCacheTest() {
+        InjectorImpl injector = (InjectorImpl) Injector.create().bindImplicit(QualifierTest.class);
+        Dependency<QualifierTest.MyService> dep = new Dependency<>(Key.of(QualifierTest.MyService.class), false);
+        Supplier<QualifierTest.MyService> compiled = injector.getCompiledBinding(dep);
+        assertSame(compiled, injector.getCompiledBinding(dep));
+        assertInstanceOf(QualifierTest.MyNamedServiceImpl.class, compiled.get());
+
+        // new bindings invalidate the cache
+        injector.bindInstance(QualifierTest.MyService.class, new QualifierTest.MyService() {});
+        assertNotSame(compiled, injector.getCompiledBinding(dep));
+    }
+
+    @Test
+    void compiledBindingNotCachedWhenBoundWhileCompilingTest() {
+        AtomicBoolean bound = new AtomicBoolean();
+        InjectorImpl injector = new InjectorImpl() {
+            @Override
+            protected <Q> Supplier<Q> doGetCompiledBinding(Dependency<Q> dep) {
+                Supplier<Q> compiled = super.doGetCompiledBinding(dep);
+                // simulates a binding registered by another thread while compiling
+                if (bound.compareAndSet(false, true)) {
+                    bindInstance(String.class, "bound");
+                }
+                return compiled;
+            }
+        };
+        injector.bindImplicit(QualifierTest.class);
+        Dependency<QualifierTest.MyService> dep = new Dependency<>(Key.of(QualifierTest.MyService.class), false);
+        Supplier<QualifierTest.MyService> compiled = injector.getCompiledBinding(dep);
+        assertNotSame(compiled, injector.getCompiledBinding(dep));
+    }
+
+    @Test
+    void generatedFactoryTest() {
+        AtomicInteger calls = new AtomicInteger();
+        Binding<FactoryTest.MyService> binding = ReflectionUtils.generateImplicitBinding(
+                Key.of(FactoryTest.MyService.class), args -> {
+                    calls.incrementAndGet();
+                    return new FactoryTest.MyService((FactoryTest.MyDependency) args[0]);
+                });
+        InjectorImpl injector = (InjectorImpl) Injector.create().bindImplicit(FactoryTest.MyDependency.class);
+        FactoryTest.MyService service = binding.compile(injector::getCompiledBinding).get();
+        assertNotNull(service.dependency);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void generatedFactoryClassLoaderTest(@TempDir Path dir) throws IOException {
+        Path index = Files.writeString(
+                dir.resolve("org.apache.maven.api.di.Factory"),
+                FactoryTest.MyDependency.class.getName() + "=" + FactoryTest.MyDependencyFactory.class.getName());
+        ClassLoader parent = getClass().getClassLoader();
+
+        FactoryTest.CALLS.set(0);
+        InjectorImpl injector = (InjectorImpl) Injector.create().discover(new FactoryClassLoader(parent, index, false));
+        injector.bindImplicit(FactoryTest.MyDependency.class);
+        assertNotNull(injector.getInstance(FactoryTest.MyDependency.class));
+        assertEquals(1, FactoryTest.CALLS.get());
+
+        // the factory of a class with the same name defined by another class loader must not be used
+        FactoryTest.CALLS.set(0);
+        injector = (InjectorImpl) Injector.create().discover(new FactoryClassLoader(parent, index, true));
+        injector.bindImplicit(FactoryTest.MyDependency.class);
+        assertNotNull(injector.getInstance(FactoryTest.MyDependency.class));
+        assertEquals(0, FactoryTest.CALLS.get());
+    }
+
+    /**
+     * Lists the given factory index, and optionally defines the factory itself, as another realm shipping the
+     * same classes would.
+     */
+    static class FactoryClassLoader extends ClassLoader {
+        final Path index;
+        final boolean defineFactory;
+
+        FactoryClassLoader(ClassLoader parent, Path index, boolean defineFactory) {
+            super(parent);
+            this.index = index;
+            this.defineFactory = defineFactory;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!defineFactory || !name.equals(FactoryTest.MyDependencyFactory.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    try (InputStream is = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        byte[] bytes = is.readAllBytes();
+                        clazz = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return clazz;
+            }
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            return name.equals("META-INF/maven/org.apache.maven.api.di.Factory")
+                    ? Collections.enumeration(List.of(index.toUri().toURL()))
+                    : Collections.emptyEnumeration();
+        }
+    }
+
+    static class FactoryTest {
+        static final AtomicInteger CALLS = new AtomicInteger();
+
+        @Named
+        static class MyDependency {}
+
+        public static class MyDependencyFactory implements Function<Object[], Object> {
+            @Override
+            public Object apply(Object[] args) {
+                CALLS.incrementAndGet();
+                return new MyDependency();
+            }
+        }
+
+        @Named
+        static class MyService {
+            final MyDependency dependency;
+
+            @Inject
+            MyService(MyDependency dependency) {
+                this.dependency = dependency;
+            }
+        }
+    }
+
     static class QualifierTest {
         @Qualifier
         @Retention(RUNTIME)
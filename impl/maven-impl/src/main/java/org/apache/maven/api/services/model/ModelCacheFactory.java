@@ -18,6 +18,7 @@
  */
 package org.apache.maven.api.services.model;
 
+import org.apache.maven.api.Session;
 import org.apache.maven.api.annotations.Experimental;
 import org.apache.maven.api.annotations.Nonnull;
 
@@ -37,4 +38,16 @@ public interface ModelCacheFactory {
 
     @Nonnull
     ModelCache newInstance();
+
+    /**
+     * Creates a new cache for the given session.  The default implementation ignores the session
+     * and delegates to {@link #newInstance()}.
+     *
+     * @param session the session the cache will be used for
+     * @return a new model cache
+     */
+    @Nonnull
+    default ModelCache newInstance(@Nonnull Session session) {
+        return newInstance();
+    }
 }
@@ -18,24 +18,30 @@
  */
 package org.apache.maven.internal.impl;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.maven.api.di.Inject;
 import org.apache.maven.api.di.Named;
-import org.apache.maven.api.di.Singleton;
+import org.apache.maven.api.di.SessionScoped;
 import org.apache.maven.api.services.ChecksumAlgorithmService;
 import org.apache.maven.api.services.ChecksumAlgorithmServiceException;
 import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
@@ -44,9 +50,31 @@
 import static org.apache.maven.internal.impl.Utils.nonNull;
 
 @Named
-@Singleton
+@SessionScoped
 public class DefaultChecksumAlgorithmService implements ChecksumAlgorithmService {
+    /**
+     * The size of the chunks of the files read at once.
+     */
+    static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Files smaller than this size are processed by one algorithm after the other.
+     */
+    static final int PARALLEL_THRESHOLD = 4 * 1024 * 1024;
+
+    /**
+     * The files changed more recently than this duration before being read are not cached, as a later change
+     * could be recorded with the same change time by file systems with a coarse time resolution.
+     */
+    static final Duration RACY_WINDOW = Duration.ofSeconds(2);
+
+    /**
+     * The maximum number of files kept in the cache, after which it is cleared.
+     */
+    static final int MAX_CACHE_ENTRIES = 10_000;
+
     private final ChecksumAlgorithmFactorySelector checksumAlgorithmFactorySelector;
+    private final Map<Path, CachedChecksums> cache = new ConcurrentHashMap<>();
 
     @Inject
     public DefaultChecksumAlgorithmService(ChecksumAlgorithmFactorySelector checksumAlgorithmFactorySelector) {
@@ -110,14 +138,134 @@ public Map<ChecksumAlgorithm, String> calculate(ByteBuffer data, Collection<Chec
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The checksums are cached for the session, keyed by the file path, size, last modified time, change time and
+     * file key, so that a file which is not modified is not read again when its checksums are asked several times,
+     * for the same or for other algorithms.  As the change time of a file is updated by any write and cannot be
+     * restored, a modified file is always read again.  The checksums are not cached on the file systems which do
+     * not record the change time, nor for the files changed just before being read.  When several algorithms are
+     * asked, the file is read once, and the algorithms process each chunk in parallel for large files.
+     */
     @Override
     public Map<ChecksumAlgorithm, String> calculate(Path file, Collection<ChecksumAlgorithm> algorithms)
             throws IOException {
         nonNull(file, "file");
         nonNull(algorithms, "algorithms");
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
-            return calculate(inputStream, algorithms);
+        Path path = file.toAbsolutePath().normalize();
+        Instant start = Instant.now();
+        Stamp stamp = Stamp.read(path);
+        CachedChecksums cached = stamp != null ? cache.get(path) : null;
+        if (cached == null || !cached.stamp.equals(stamp)) {
+            cached = stamp != null && stamp.isSettled(start) ? new CachedChecksums(stamp) : null;
+        }
+        List<ChecksumAlgorithm> missing = new ArrayList<>();
+        for (ChecksumAlgorithm algorithm : algorithms) {
+            if ((cached == null || !cached.checksums.containsKey(algorithm.getName()))
+                    && !missing.contains(algorithm)) {
+                missing.add(algorithm);
+            }
+        }
+        Map<ChecksumAlgorithm, String> computed = missing.isEmpty() ? Map.of() : compute(path, missing);
+        if (cached == null) {
+            return computed.size() == algorithms.size() ? computed : select(algorithms, computed);
+        }
+        if (!missing.isEmpty()) {
+            if (!stamp.equals(Stamp.read(path))) {
+                // the file has been modified while being read, compute everything again without caching
+                cache.remove(path);
+                return select(algorithms, compute(path, distinct(algorithms)));
+            }
+            for (Map.Entry<ChecksumAlgorithm, String> entry : computed.entrySet()) {
+                cached.checksums.put(entry.getKey().getName(), entry.getValue());
+            }
+            if (cache.size() >= MAX_CACHE_ENTRIES) {
+                cache.clear();
+            }
+            cache.put(path, cached);
+        }
+        LinkedHashMap<ChecksumAlgorithm, String> result = new LinkedHashMap<>();
+        for (ChecksumAlgorithm algorithm : algorithms) {
+            result.put(algorithm, cached.checksums.get(algorithm.getName()));
         }
+        return result;
+    }
+
+    @Override
+    public Map<Path, Map<ChecksumAlgorithm, String>> calculate(
+            Collection<Path> files, Collection<ChecksumAlgorithm> algorithms) throws IOException {
+        nonNull(files, "files");
+        nonNull(algorithms, "algorithms");
+        List<Path> list = new ArrayList<>(files);
+        List<Map<ChecksumAlgorithm, String>> checksums;
+        try {
+            checksums = list.parallelStream()
+                    .map(file -> {
+                        try {
+                            return calculate(file, algorithms);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        LinkedHashMap<Path, Map<ChecksumAlgorithm, String>> result = new LinkedHashMap<>();
+        for (int i = 0; i < list.size(); i++) {
+            result.put(list.get(i), checksums.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the checksums of the given file, in a single pass over the file.  The algorithms process the chunks
+     * of large files in parallel, in the same fork-join pool as the parallel stream of the batch method.
+     */
+    private Map<ChecksumAlgorithm, String> compute(Path file, List<ChecksumAlgorithm> algorithms) throws IOException {
+        List<ChecksumCalculator> calculators =
+                algorithms.stream().map(ChecksumAlgorithm::getCalculator).toList();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            boolean parallel = algorithms.size() > 1 && size >= PARALLEL_THRESHOLD;
+            // one more byte than the size, so that the end of the small files is reached by the first read
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, size + 1));
+            boolean eof = false;
+            while (!eof) {
+                while (buffer.hasRemaining() && !eof) {
+                    eof = channel.read(buffer) < 0;
+                }
+                buffer.flip();
+                if (parallel) {
+                    // each algorithm uses its own view of the shared buffer
+                    calculators.parallelStream().forEach(calculator -> calculator.update(buffer.duplicate()));
+                } else {
+                    for (ChecksumCalculator calculator : calculators) {
+                        calculator.update(buffer.duplicate());
+                    }
+                }
+                buffer.clear();
+            }
+        }
+        LinkedHashMap<ChecksumAlgorithm, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < algorithms.size(); i++) {
+            result.put(algorithms.get(i), calculators.get(i).checksum());
+        }
+        return result;
+    }
+
+    private static List<ChecksumAlgorithm> distinct(Collection<ChecksumAlgorithm> algorithms) {
+        return algorithms.stream().distinct().toList();
+    }
+
+    private static Map<ChecksumAlgorithm, String> select(
+            Collection<ChecksumAlgorithm> algorithms, Map<ChecksumAlgorithm, String> checksums) {
+        LinkedHashMap<ChecksumAlgorithm, String> result = new LinkedHashMap<>();
+        for (ChecksumAlgorithm algorithm : algorithms) {
+            result.put(algorithm, checksums.get(algorithm));
+        }
+        return result;
     }
 
     @Override
@@ -142,6 +290,47 @@ public Map<ChecksumAlgorithm, String> calculate(InputStream stream, Collection<C
         return result;
     }
 
+    /**
+     * The checksums of a file, by algorithm name, which are valid as long as the file is not modified.
+     */
+    private static class CachedChecksums {
+        private final Stamp stamp;
+        private final Map<String, String> checksums = new ConcurrentHashMap<>();
+
+        CachedChecksums(Stamp stamp) {
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * The attributes of a file which change when it is modified.
+     */
+    private record Stamp(long size, FileTime lastModified, FileTime changed, Object fileKey) {
+
+        /**
+         * Reads the stamp of the given file, or returns {@code null} if the file system does not record the time
+         * of the last change of the files.  Unlike the last modified time, it cannot be set back after a write.
+         */
+        static Stamp read(Path file) throws IOException {
+            if (!file.getFileSystem().supportedFileAttributeViews().contains("unix")) {
+                return null;
+            }
+            Map<String, Object> attributes = Files.readAttributes(file, "unix:size,lastModifiedTime,ctime,fileKey");
+            return new Stamp(
+                    (Long) attributes.get("size"),
+                    (FileTime) attributes.get("lastModifiedTime"),
+                    (FileTime) attributes.get("ctime"),
+                    attributes.get("fileKey"));
+        }
+
+        /**
+         * Whether the file was changed long enough before the given time for any later change to be detected.
+         */
+        boolean isSettled(Instant time) {
+            return changed.toInstant().isBefore(time.minus(RACY_WINDOW));
+        }
+    }
+
     private static class DefaultChecksumAlgorithm implements ChecksumAlgorithm {
         private final ChecksumAlgorithmFactory factory;
 
@@ -50,6 +50,7 @@
 import org.apache.maven.api.services.DependencyResolverRequest;
 import org.apache.maven.api.services.DependencyResolverResult;
 import org.apache.maven.api.services.ProjectManager;
+import org.apache.maven.internal.impl.resolver.CollectResultCache;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.collection.CollectRequest;
@@ -121,8 +122,8 @@ public DependencyResolverResult collect(@Nonnull DependencyResolverRequest reque
         }
 
         try {
-            final CollectResult result =
-                    session.getRepositorySystem().collectDependencies(systemSession, collectRequest);
+            final CollectResult result = CollectResultCache.collectDependencies(
+                    session.getRepositorySystem(), systemSession, collectRequest);
             return new DefaultDependencyResolverResult(
                     null, result.getExceptions(), session.getNode(result.getRoot(), request.getVerbose()), 0);
         } catch (DependencyCollectionException e) {
@@ -192,7 +193,7 @@ public DependencyResolverResult resolve(DependencyResolverRequest request)
                 }
                 result = flattenResult;
             } else {
-                PathModularizationCache cache = new PathModularizationCache(); // TODO: should be project-wide cache.
+                PathModularizationCache cache = PathModularizationCache.of(session);
                 DefaultDependencyResolverResult resolverResult = new DefaultDependencyResolverResult(
                         cache, collectorResult.getExceptions(), collectorResult.getRoot(), nodes.size());
                 ArtifactResolverResult artifactResolverResult =
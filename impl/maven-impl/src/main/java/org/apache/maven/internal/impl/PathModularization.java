@@ -52,7 +52,7 @@ class PathModularization {
     /**
      * Name of the file to use as a sentinel value for deciding if a directory or a JAR is modular.
      */
-    private static final String MODULE_INFO = "module-info.class";
+    static final String MODULE_INFO = "module-info.class";
 
     /**
      * The attribute for automatic module name in {@code META-INF/MANIFEST.MF} files.
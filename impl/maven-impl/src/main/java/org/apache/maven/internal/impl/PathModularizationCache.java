@@ -19,7 +19,11 @@
 package org.apache.maven.internal.impl;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -27,40 +31,50 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.maven.api.JavaPathType;
 import org.apache.maven.api.PathType;
+import org.apache.maven.api.Session;
+import org.apache.maven.api.SessionData;
 
 /**
  * Cache of {@link PathModularization} instances computed for given {@link Path} elements.
  * The cache is used for avoiding the need to reopen the same files many times when the
  * same dependency is used for different scope. For example a path used for compilation
  * is typically also used for tests.
+ *
+ * <p>A single instance is shared by all the dependency resolutions of a session, and may
+ * be used concurrently. Each cached value is associated to the size and last modification
+ * time of its path, and is computed again if the path has been modified since then.
+ * This is needed for the output directories of the projects of the reactor, which are
+ * populated during the build.</p>
  */
 class PathModularizationCache {
     /**
-     * Module information for each JAR file or output directories.
+     * Module information and type of each JAR file or output directories.
      * Cached when first requested to avoid decoding the module descriptors multiple times.
      *
      * @see #getModuleInfo(Path)
-     */
-    private final Map<Path, PathModularization> moduleInfo;
-
-    /**
-     * Whether JAR files are modular. This map is redundant with {@link #moduleInfo},
-     * but cheaper to compute when the module names are not needed.
-     *
      * @see #getPathType(Path)
      */
-    private final Map<Path, PathType> pathTypes;
+    private final Map<Path, Entry> entries;
 
     /**
      * Creates an initially empty cache.
      */
     PathModularizationCache() {
-        moduleInfo = new HashMap<>();
-        pathTypes = new HashMap<>();
+        entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the cache shared by all the dependency resolutions of the given session.
+     */
+    static PathModularizationCache of(Session session) {
+        return session.getData()
+                .computeIfAbsent(SessionData.key(PathModularizationCache.class), PathModularizationCache::new);
     }
 
     /**
@@ -68,13 +82,14 @@ class PathModularizationCache {
      * Module descriptors are read when first requested, then cached.
      */
     PathModularization getModuleInfo(Path path) throws IOException {
-        PathModularization info = moduleInfo.get(path);
-        if (info == null) {
-            info = new PathModularization(path, true);
-            moduleInfo.put(path, info);
-            pathTypes.put(path, info.getPathType());
+        Stamp stamp = Stamp.of(path);
+        Entry entry = entries.get(path);
+        if (entry == null || entry.info == null || !entry.stamp.equals(stamp)) {
+            PathModularization info = new PathModularization(path, true);
+            entry = new Entry(stamp, info, info.getPathType());
+            entries.put(path, entry);
         }
-        return info;
+        return entry.info;
     }
 
     /**
@@ -83,12 +98,14 @@ PathModularization getModuleInfo(Path path) throws IOException {
      * or on the module-path when the {@code "jar"} artifact type is used.
      */
     private PathType getPathType(Path path) throws IOException {
-        PathType type = pathTypes.get(path);
-        if (type == null) {
-            type = new PathModularization(path, false).getPathType();
-            pathTypes.put(path, type);
+        Stamp stamp = Stamp.of(path);
+        Entry entry = entries.get(path);
+        if (entry == null || !entry.stamp.equals(stamp)) {
+            PathType type = new PathModularization(path, false).getPathType();
+            entry = new Entry(stamp, null, type);
+            entries.put(path, entry);
         }
-        return type;
+        return entry.type;
     }
 
     /**
@@ -186,4 +203,68 @@ Optional<String> warningForFilenameBasedAutomodules(Collection<Path> modulePaths
         automodulesDetected.forEach(joiner::add);
         return Optional.of(joiner.toString());
     }
+
+    /**
+     * A cached value together with the state of its path when the value was computed.
+     *
+     * @param stamp the state of the path when the value was computed
+     * @param info the module information, or {@code null} if only the path type was requested
+     * @param type whether the path is modular
+     */
+    private record Entry(Stamp stamp, PathModularization info, PathType type) {}
+
+    /**
+     * The size and last modification time of a path, used for detecting the changes since a value was cached.
+     * For a directory, the last modification times of the module descriptors read by {@link PathModularization}
+     * are also checked, because the modification time of the directory itself does not change when these files
+     * are recompiled.  These descriptors are the {@code module-info.class} file in a package hierarchy, or the
+     * {@code module-info.class} file of each sub-directory of the {@code module-info.class} directory in a module
+     * hierarchy.
+     *
+     * @param size the size of the file, or -1 if it does not exist
+     * @param lastModified the last modification time of the file, or {@code null} if it does not exist
+     * @param descriptors the last modification time of each module descriptor of a directory, or an empty map
+     */
+    private record Stamp(long size, FileTime lastModified, Map<Path, FileTime> descriptors) {
+        static Stamp of(Path path) throws IOException {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return new Stamp(-1, null, Map.of());
+            }
+            Map<Path, FileTime> descriptors = Map.of();
+            if (attributes.isDirectory()) {
+                try {
+                    descriptors = descriptors(path.resolve(PathModularization.MODULE_INFO));
+                } catch (NoSuchFileException e) {
+                    // Not modular, or not yet compiled.
+                }
+            }
+            return new Stamp(attributes.size(), attributes.lastModifiedTime(), descriptors);
+        }
+
+        /**
+         * Returns the last modification time of the given descriptor, or of the descriptors of the modules
+         * in the given directory for a module hierarchy.
+         */
+        private static Map<Path, FileTime> descriptors(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isDirectory()) {
+                return Map.of(file, attributes.lastModifiedTime());
+            }
+            var descriptors = new HashMap<Path, FileTime>();
+            try (Stream<Path> subdirs = Files.list(file)) {
+                for (Path subdir : (Iterable<Path>) subdirs::iterator) {
+                    Path descriptor = subdir.resolve(PathModularization.MODULE_INFO);
+                    try {
+                        descriptors.put(descriptor, Files.getLastModifiedTime(descriptor));
+                    } catch (NoSuchFileException e) {
+                        // Not a module, or not yet compiled.
+                    }
+                }
+            }
+            return descriptors;
+        }
+    }
 }
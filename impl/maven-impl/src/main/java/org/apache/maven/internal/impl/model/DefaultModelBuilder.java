@@ -22,6 +22,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -36,6 +37,7 @@
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
@@ -153,6 +155,7 @@ public class DefaultModelBuilder implements ModelBuilder {
     private final ModelCacheFactory modelCacheFactory;
     private final ModelResolver modelResolver;
     private final Interpolator interpolator;
+    private final IncrementalModelCache incrementalModelCache = new IncrementalModelCache();
 
     @SuppressWarnings("checkstyle:ParameterNumber")
     @Inject
@@ -253,6 +256,8 @@ protected class ModelBuilderSessionState implements ModelProblemCollector {
         List<RemoteRepository> externalRepositories;
         List<RemoteRepository> repositories;
 
+        IncrementalModelCache.Recorder recorder;
+
         ModelBuilderSessionState(ModelBuilderRequest request) {
             this(
                     request.getSession(),
@@ -260,7 +265,9 @@ protected class ModelBuilderSessionState implements ModelProblemCollector {
                     new DefaultModelBuilderResult(),
                     request.getSession()
                             .getData()
-                            .computeIfAbsent(SessionData.key(ModelCache.class), modelCacheFactory::newInstance),
+                            .computeIfAbsent(
+                                    SessionData.key(ModelCache.class),
+                                    () -> modelCacheFactory.newInstance(request.getSession())),
                     new Graph(),
                     new ConcurrentHashMap<>(64),
                     List.of(),
@@ -317,7 +324,7 @@ ModelBuilderSessionState derive(ModelBuilderRequest request, DefaultModelBuilder
             if (session != request.getSession()) {
                 throw new IllegalArgumentException("Session mismatch");
             }
-            return new ModelBuilderSessionState(
+            ModelBuilderSessionState derived = new ModelBuilderSessionState(
                     session,
                     request,
                     result,
@@ -327,6 +334,8 @@ ModelBuilderSessionState derive(ModelBuilderRequest request, DefaultModelBuilder
                     pomRepositories,
                     externalRepositories,
                     repositories);
+            derived.recorder = recorder;
+            return derived;
         }
 
         @Override
@@ -355,6 +364,16 @@ private int getParallelism() {
             return Math.max(1, Math.min(parallelism, Runtime.getRuntime().availableProcessors()));
         }
 
+        private boolean isIncremental() {
+            return Boolean.parseBoolean(request.getUserProperties().get(Constants.MAVEN_MODEL_BUILDER_INCREMENTAL))
+                    || isPersistentCache();
+        }
+
+        private boolean isPersistentCache() {
+            return Boolean.parseBoolean(
+                    request.getUserProperties().get(Constants.MAVEN_MODEL_BUILDER_PERSISTENT_CACHE));
+        }
+
         public Model getRawModel(Path from, String groupId, String artifactId) {
             ModelSource source = getSource(groupId, artifactId);
             if (source != null) {
@@ -472,6 +491,9 @@ public Model getRootModel() {
         @Override
         public void add(ModelProblem problem) {
             result.addProblem(problem);
+            if (recorder != null) {
+                recorder.problems.add(problem);
+            }
         }
 
         @Override
@@ -667,13 +689,26 @@ private void buildBuildPom() throws ModelBuilderException {
             // For the top model and all its children, build the effective model.
             // This is done through the phased executor
             var allResults = results(result).toList();
+            IncrementalModelCache.Digester digester = isIncremental() ? newDigester(rootDirectory, allResults) : null;
             List<RuntimeException> exceptions = new CopyOnWriteArrayList<>();
             try (PhasingExecutor executor = createExecutor()) {
                 for (DefaultModelBuilderResult r : allResults) {
+                    Path pom = r.getSource().getPath();
+                    IncrementalModelCache.Entry entry = digester != null ? digester.lookup(pom) : null;
                     executor.execute(() -> {
                         ModelBuilderSessionState mbs = derive(r.getSource(), r);
+                        if (digester != null) {
+                            mbs.recorder = new IncrementalModelCache.Recorder();
+                        }
                         try {
-                            mbs.buildEffectiveModel(new LinkedHashSet<>());
+                            if (entry != null) {
+                                mbs.restore(entry);
+                            } else {
+                                mbs.buildEffectiveModel(new LinkedHashSet<>());
+                                if (digester != null) {
+                                    digester.store(pom, r, mbs.recorder);
+                                }
+                            }
                         } catch (ModelBuilderException e) {
                             // gathered with problem collector
                         } catch (RuntimeException t) {
@@ -683,6 +718,15 @@ private void buildBuildPom() throws ModelBuilderException {
                 }
             }
 
+            if (digester != null && digester.isModified() && isPersistentCache()) {
+                try {
+                    incrementalModelCache.save(persistentCacheFile(rootDirectory), rootDirectory);
+                } catch (IOException e) {
+                    logger.warn("Unable to save the model cache: {}", e.getMessage());
+                    logger.debug("Unable to save the model cache", e);
+                }
+            }
+
             // Check for errors again after execution
             if (exceptions.size() == 1) {
                 throw exceptions.get(0);
@@ -695,6 +739,65 @@ private void buildBuildPom() throws ModelBuilderException {
             }
         }
 
+        private IncrementalModelCache.Digester newDigester(
+                Path rootDirectory, List<DefaultModelBuilderResult> results) {
+            if (isPersistentCache()) {
+                Path file = persistentCacheFile(rootDirectory);
+                try {
+                    incrementalModelCache.load(file);
+                } catch (IOException e) {
+                    logger.debug("Ignoring the model cache {}: {}", file, e.getMessage());
+                }
+            }
+            Map<Path, Model> fileModels = new HashMap<>();
+            for (DefaultModelBuilderResult r : results) {
+                if (r.getFileModel() != null) {
+                    fileModels.put(r.getSource().getPath(), r.getFileModel());
+                }
+            }
+            incrementalModelCache.retain(rootDirectory, fileModels.keySet());
+            String context = IncrementalModelCache.context(request, rootDirectory, transformers, fileModels.values());
+            return incrementalModelCache.digester(
+                    context, rootDirectory, fileModels, modelProcessor::locateExistingPom);
+        }
+
+        /**
+         * Returns the file of the persistent model cache of the given root directory.  The file is kept in the local
+         * repository rather than in the build directory, so that it is not deleted by the clean lifecycle.
+         */
+        private Path persistentCacheFile(Path rootDirectory) {
+            String key = rootDirectory.toAbsolutePath().normalize().toString();
+            return request.getSession()
+                    .getLocalRepository()
+                    .getPath()
+                    .resolve(".cache")
+                    .resolve("maven-model-cache")
+                    .resolve(UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + ".bin");
+        }
+
+        /**
+         * Restores the result of a previous build of a project whose inputs have not changed.
+         */
+        private void restore(IncrementalModelCache.Entry entry) {
+            logger.debug("Reusing the effective model of {}", request.getSource().getPath());
+            result.setFileModel(entry.fileModel());
+            result.setRawModel(entry.rawModel());
+            result.setParentModel(entry.parentModel());
+            result.setEffectiveModel(entry.effectiveModel());
+            result.setActivePomProfiles(entry.activePomProfiles());
+            result.setActiveExternalProfiles(entry.activeExternalProfiles());
+            entry.problems().forEach(result::addProblem);
+            // the lifecycle bindings are already part of the effective model, but the injector
+            // may also have side effects, such as setting up the project realm
+            org.apache.maven.api.services.ModelTransformer lifecycleBindingsInjector =
+                    request.getLifecycleBindingsInjector();
+            if (lifecycleBindingsInjector != null
+                    && request.getRequestType() != ModelBuilderRequest.RequestType.CONSUMER_DEPENDENCY) {
+                recorder = null;
+                lifecycleBindingsInjector.transform(entry.effectiveModel(), request, this);
+            }
+        }
+
         /**
          * Generates a stream of DefaultModelBuilderResult objects, starting with the provided
          * result and recursively including all its child results.
@@ -821,7 +924,11 @@ void buildEffectiveModel(Collection<String> importIds) throws ModelBuilderExcept
                 org.apache.maven.api.services.ModelTransformer lifecycleBindingsInjector =
                         request.getLifecycleBindingsInjector();
                 if (lifecycleBindingsInjector != null) {
+                    // the problems reported by the injector are reported again when a result is reused
+                    IncrementalModelCache.Recorder r = recorder;
+                    recorder = null;
                     resultModel = lifecycleBindingsInjector.transform(resultModel, request, this);
+                    recorder = r;
                 }
             }
 
@@ -1624,13 +1731,17 @@ private DependencyManagement loadDependencyManagement(Dependency dependency, Col
                 return null;
             }
 
-            Model importModel = cache(
+            if (recorder != null) {
+                recorder.imports.add(imported);
+            }
+            ImportedModel imported = cache(
                     groupId,
                     artifactId,
                     version,
                     IMPORT,
                     () -> doLoadDependencyManagement(dependency, groupId, artifactId, version, importIds));
-            DependencyManagement importMgmt = importModel != null ? importModel.getDependencyManagement() : null;
+            DependencyManagement importMgmt =
+                    imported != null ? imported.model().getDependencyManagement() : null;
             if (importMgmt == null) {
                 importMgmt = DependencyManagement.newInstance();
             }
@@ -1650,7 +1761,7 @@ private DependencyManagement loadDependencyManagement(Dependency dependency, Col
         }
 
         @SuppressWarnings("checkstyle:parameternumber")
-        private Model doLoadDependencyManagement(
+        private ImportedModel doLoadDependencyManagement(
                 Dependency dependency,
                 String groupId,
                 String artifactId,
@@ -1658,8 +1769,10 @@ private Model doLoadDependencyManagement(
                 Collection<String> importIds) {
             Model importModel;
             ModelSource importSource;
+            boolean fromReactor;
             try {
                 importSource = resolveReactorModel(groupId, artifactId, version);
+                fromReactor = importSource != null;
                 if (importSource == null) {
                     importSource = modelResolver.resolveModel(
                             request.getSession(), repositories, dependency, new AtomicReference<>());
@@ -1715,8 +1828,13 @@ private Model doLoadDependencyManagement(
             importResult.getProblems().forEach(this::add);
 
             importModel = importResult.getEffectiveModel();
+            if (importModel == null) {
+                return null;
+            }
 
-            return importModel;
+            // the models of the reactor may be edited between the builds, and the problems are only reported
+            // when the model is computed, so such models are not shared with the builds of other sessions
+            return new ImportedModel(importModel, !fromReactor && importResult.getProblems().isEmpty());
         }
 
         ModelSource resolveReactorModel(String groupId, String artifactId, String version)
@@ -1953,4 +2071,12 @@ private boolean containsCoordinates(String message, String groupId, String artif
     }
 
     record GAKey(String groupId, String artifactId) {}
+
+    /**
+     * A model imported in the dependency management.
+     *
+     * @param model the effective model of the imported POM
+     * @param shareable whether the model has been read from the repositories without problems
+     */
+    record ImportedModel(Model model, boolean shareable) implements ResidentModelCache.Shareable {}
 }
@@ -18,53 +18,303 @@
  */
 package org.apache.maven.internal.impl.model;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import org.apache.maven.api.services.Source;
 import org.apache.maven.api.services.model.ModelCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * A model builder cache backed by the repository system cache.
- *
+ * <p>
+ * The cache is unbounded by default, but can be configured with a {@link Policy} to limit the number
+ * of entries, globally or per tag, evicting the least recently used entries, and to hold the values
+ * using soft references.  Hits, misses, evictions and compute time are recorded per tag and can be
+ * retrieved using {@link #statistics()}.
  */
 public class DefaultModelCache implements ModelCache {
 
-    private final ConcurrentMap<Object, Supplier<?>> cache;
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultModelCache.class);
+
+    private final Policy policy;
+    private final ConcurrentMap<Object, Object> cache;
+    private final Lru lru;
+    private final ReferenceQueue<CachingSupplier<?>> queue;
+    private final ConcurrentMap<String, TagStats> stats = new ConcurrentHashMap<>();
 
     public DefaultModelCache() {
-        this(new ConcurrentHashMap<>());
+        this(Policy.DEFAULT);
     }
 
-    private DefaultModelCache(ConcurrentMap<Object, Supplier<?>> cache) {
-        this.cache = requireNonNull(cache);
+    public DefaultModelCache(Policy policy) {
+        this.policy = requireNonNull(policy);
+        this.cache = policy.isBounded() ? null : new ConcurrentHashMap<>();
+        this.lru = policy.isBounded() ? new Lru() : null;
+        this.queue = policy.softValues() ? new ReferenceQueue<>() : null;
     }
 
     @Override
     @SuppressWarnings({"unchecked"})
     public <T> T computeIfAbsent(String groupId, String artifactId, String version, String tag, Supplier<T> data) {
-        return (T) computeIfAbsent(new GavCacheKey(groupId, artifactId, version, tag), data);
+        return (T) computeIfAbsent(new GavCacheKey(groupId, artifactId, version, tag), tag, data);
     }
 
     @Override
     @SuppressWarnings({"unchecked"})
     public <T> T computeIfAbsent(Source path, String tag, Supplier<T> data) {
-        return (T) computeIfAbsent(new SourceCacheKey(path, tag), data);
+        return (T) computeIfAbsent(new SourceCacheKey(path, tag), tag, data);
     }
 
     @Override
     public void clear() {
-        cache.clear();
+        if (lru != null) {
+            lru.clear();
+        } else {
+            cache.clear();
+        }
+    }
+
+    protected Object computeIfAbsent(Object key, String tag, Supplier<?> data) {
+        purge();
+        TagStats tagStats = stats(tag);
+        CachingSupplier<?> supplier = lru != null ? lru.get(key, tag, data, tagStats) : get(key, data, tagStats);
+        Object value = supplier.get();
+        if (value == null) {
+            // nothing to share, the next caller computes the value again with its own supplier,
+            // which reports its problems to the right model
+            discard(key, supplier);
+        }
+        return value;
+    }
+
+    private void discard(Object key, CachingSupplier<?> supplier) {
+        if (lru != null) {
+            lru.discard(key, supplier);
+        } else {
+            cache.computeIfPresent(key, (k, v) -> unwrap(v) == supplier ? null : v);
+        }
+    }
+
+    private CachingSupplier<?> get(Object key, Supplier<?> data, TagStats tagStats) {
+        CachingSupplier<?> existing = unwrap(cache.get(key));
+        if (existing != null) {
+            tagStats.hits.increment();
+            return existing;
+        }
+        CachingSupplier<?>[] holder = new CachingSupplier<?>[1];
+        cache.compute(key, (k, v) -> {
+            CachingSupplier<?> supplier = unwrap(v);
+            if (supplier == null) {
+                supplier = new CachingSupplier<>(tagStats.timed(data));
+                v = wrap(key, supplier);
+                tagStats.misses.increment();
+            } else {
+                tagStats.hits.increment();
+            }
+            holder[0] = supplier;
+            return v;
+        });
+        return holder[0];
+    }
+
+    private Object wrap(Object key, CachingSupplier<?> supplier) {
+        return queue != null ? new SoftValue(key, supplier, queue) : supplier;
+    }
+
+    private static CachingSupplier<?> unwrap(Object value) {
+        return value instanceof SoftValue ref ? ref.get() : (CachingSupplier<?>) value;
+    }
+
+    /**
+     * Removes the entries whose values have been reclaimed by the garbage collector.
+     */
+    private void purge() {
+        if (queue != null) {
+            Object ref;
+            while ((ref = queue.poll()) != null) {
+                SoftValue value = (SoftValue) ref;
+                if (lru != null) {
+                    lru.remove(value.key, value);
+                } else {
+                    cache.remove(value.key, value);
+                }
+            }
+        }
+    }
+
+    protected TagStats stats(String tag) {
+        return stats.computeIfAbsent(tag != null ? tag : "", t -> new TagStats());
+    }
+
+    /**
+     * Returns a snapshot of the statistics recorded by this cache, per tag.
+     */
+    public Map<String, Statistics> statistics() {
+        Map<String, Statistics> result = new TreeMap<>();
+        stats.forEach((tag, s) -> result.put(
+                tag,
+                new Statistics(
+                        s.hits.sum(), s.misses.sum(), s.evictions.sum(), Duration.ofNanos(s.computeTime.sum()))));
+        return result;
+    }
+
+    /**
+     * Logs the statistics recorded by this cache.
+     */
+    public void logStatistics() {
+        Map<String, Statistics> statistics = statistics();
+        if (!statistics.isEmpty()) {
+            LOGGER.info("Model cache statistics ({}):", policy);
+            statistics.forEach((tag, s) -> LOGGER.info(
+                    "  {}: {} hits, {} misses, {} evictions, {} ms computing",
+                    tag,
+                    s.hits(),
+                    s.misses(),
+                    s.evictions(),
+                    s.computeTime().toMillis()));
+        }
+    }
+
+    /**
+     * The cache policy.
+     *
+     * @param maxEntries the maximum number of entries, or zero if unbounded
+     * @param tagMaxEntries the maximum number of entries per tag
+     * @param softValues whether values are held by soft references
+     * @param stats whether statistics should be logged at the end of the build
+     */
+    public record Policy(int maxEntries, Map<String, Integer> tagMaxEntries, boolean softValues, boolean stats) {
+        public static final Policy DEFAULT = new Policy(0, Map.of(), false, false);
+
+        public Policy {
+            tagMaxEntries = Map.copyOf(tagMaxEntries);
+        }
+
+        boolean isBounded() {
+            return maxEntries > 0 || !tagMaxEntries.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "maxEntries=" + (maxEntries > 0 ? maxEntries : "unbounded") + ", tagMaxEntries=" + tagMaxEntries
+                    + ", softValues=" + softValues;
+        }
+    }
+
+    /**
+     * The statistics recorded for a given tag.
+     *
+     * @param hits the number of lookups which found an entry
+     * @param misses the number of lookups which created an entry
+     * @param evictions the number of entries evicted because of the size limits
+     * @param computeTime the time spent computing the values
+     */
+    public record Statistics(long hits, long misses, long evictions, Duration computeTime) {}
+
+    protected static class TagStats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder computeTime = new LongAdder();
+
+        <T> Supplier<T> timed(Supplier<T> data) {
+            return () -> {
+                long start = System.nanoTime();
+                try {
+                    return data.get();
+                } finally {
+                    computeTime.add(System.nanoTime() - start);
+                }
+            };
+        }
     }
 
-    protected Object computeIfAbsent(Object key, Supplier<?> data) {
-        return cache.computeIfAbsent(key, k -> new CachingSupplier<>(data)).get();
+    private static final class SoftValue extends SoftReference<CachingSupplier<?>> {
+        final Object key;
+
+        SoftValue(Object key, CachingSupplier<?> supplier, ReferenceQueue<CachingSupplier<?>> queue) {
+            super(supplier, queue);
+            this.key = key;
+        }
     }
 
+    /**
+     * The bounded storage, which keeps the entries in access order, both globally and per tag,
+     * so that the least recently used entries are evicted first.
+     */
+    private final class Lru {
+        private final LinkedHashMap<Object, Node> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<String, LinkedHashMap<Object, Node>> tags = new HashMap<>();
+
+        synchronized CachingSupplier<?> get(Object key, String tag, Supplier<?> data, TagStats tagStats) {
+            LinkedHashMap<Object, Node> tagEntries =
+                    tags.computeIfAbsent(tag, t -> new LinkedHashMap<>(16, 0.75f, true));
+            Node node = entries.get(key);
+            CachingSupplier<?> supplier = node != null ? unwrap(node.value) : null;
+            if (supplier != null) {
+                tagEntries.get(key);
+                tagStats.hits.increment();
+                return supplier;
+            }
+            supplier = new CachingSupplier<>(tagStats.timed(data));
+            node = new Node(key, tag, wrap(key, supplier));
+            entries.put(key, node);
+            tagEntries.put(key, node);
+            tagStats.misses.increment();
+            Integer tagMax = policy.tagMaxEntries().get(tag);
+            while (tagMax != null && tagEntries.size() > tagMax) {
+                evict(tagEntries.values().iterator().next());
+            }
+            while (policy.maxEntries() > 0 && entries.size() > policy.maxEntries()) {
+                evict(entries.values().iterator().next());
+            }
+            return supplier;
+        }
+
+        private void evict(Node node) {
+            entries.remove(node.key);
+            tags.get(node.tag).remove(node.key);
+            stats(node.tag).evictions.increment();
+        }
+
+        synchronized void remove(Object key, Object value) {
+            Node node = entries.get(key);
+            if (node != null && node.value == value) {
+                entries.remove(key);
+                tags.get(node.tag).remove(key);
+            }
+        }
+
+        synchronized void discard(Object key, CachingSupplier<?> supplier) {
+            Node node = entries.get(key);
+            if (node != null && unwrap(node.value) == supplier) {
+                entries.remove(key);
+                tags.get(node.tag).remove(key);
+            }
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            tags.clear();
+        }
+    }
+
+    private record Node(Object key, String tag, Object value) {}
+
     static class GavCacheKey {
 
         private final String gav;
@@ -160,7 +410,7 @@ public int hashCode() {
     }
 
     static class CachingSupplier<T> implements Supplier<T> {
-        final Supplier<T> supplier;
+        Supplier<T> supplier;
         volatile Object value;
 
         CachingSupplier(Supplier<T> supplier) {
@@ -179,6 +429,11 @@ public T get() {
                         } catch (Exception e) {
                             v = value = new AltRes(e);
                         }
+                        // release the supplier and everything it captured, unless no value was computed,
+                        // in which case it is called again so that it reports its problems again
+                        if (v != null) {
+                            supplier = null;
+                        }
                     }
                 }
             }
@@ -18,16 +18,98 @@
  */
 package org.apache.maven.internal.impl.model;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.api.Session;
 import org.apache.maven.api.di.Named;
 import org.apache.maven.api.di.Singleton;
 import org.apache.maven.api.services.model.ModelCache;
 import org.apache.maven.api.services.model.ModelCacheFactory;
+import org.apache.maven.internal.impl.InternalSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Named
 @Singleton
 public class DefaultModelCacheFactory implements ModelCacheFactory {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private ResidentModelCache.Store store;
+
+    /**
+     * The size of the resident model cache when {@link Constants#MAVEN_MODEL_CACHE_RESIDENT_SIZE} is not set.
+     */
+    private volatile int defaultResidentSize;
+
     @Override
     public ModelCache newInstance() {
         return new DefaultModelCache();
     }
+
+    @Override
+    public ModelCache newInstance(Session session) {
+        DefaultModelCache.Policy policy = policy(session.getUserProperties());
+        int size = integer(session.getUserProperties(), Constants.MAVEN_MODEL_CACHE_RESIDENT_SIZE, defaultResidentSize);
+        DefaultModelCache cache =
+                size > 0 ? new ResidentModelCache(store(size), session, policy) : new DefaultModelCache(policy);
+        if (policy.stats()) {
+            InternalSession.from(session).getSession().addOnSessionEndedHandler(cache::logStatistics);
+        }
+        return cache;
+    }
+
+    /**
+     * Sets the size of the model cache shared across builds when {@link Constants#MAVEN_MODEL_CACHE_RESIDENT_SIZE}
+     * is not set, which is used by the resident Maven instances.  The cache is not shared by default.
+     *
+     * @param size the default size, or {@code 0} to not share the cache
+     */
+    public void setDefaultResidentSize(int size) {
+        this.defaultResidentSize = size;
+    }
+
+    DefaultModelCache.Policy policy(Map<String, String> properties) {
+        Map<String, Integer> tagMaxEntries = new HashMap<>();
+        String tags = properties.get(Constants.MAVEN_MODEL_CACHE_TAG_MAX_ENTRIES);
+        if (tags != null && !tags.isBlank()) {
+            for (String tag : tags.split(",")) {
+                int idx = tag.indexOf('=');
+                try {
+                    tagMaxEntries.put(
+                            tag.substring(0, idx).trim(),
+                            Integer.parseInt(tag.substring(idx + 1).trim()));
+                } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                    logger.warn(
+                            "Invalid value for {}: '{}', expected tag=size pairs",
+                            Constants.MAVEN_MODEL_CACHE_TAG_MAX_ENTRIES,
+                            tag);
+                }
+            }
+        }
+        return new DefaultModelCache.Policy(
+                integer(properties, Constants.MAVEN_MODEL_CACHE_MAX_ENTRIES, 0),
+                tagMaxEntries,
+                Boolean.parseBoolean(properties.get(Constants.MAVEN_MODEL_CACHE_SOFT_VALUES)),
+                Boolean.parseBoolean(properties.get(Constants.MAVEN_MODEL_CACHE_STATS)));
+    }
+
+    private synchronized ResidentModelCache.Store store(int size) {
+        if (store == null || store.capacity() != size) {
+            store = new ResidentModelCache.Store(size);
+        }
+        return store;
+    }
+
+    private int integer(Map<String, String> properties, String key, int defaultValue) {
+        String value = properties.get(key);
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value for {}: '{}', expected an integer", key, value);
+            return defaultValue;
+        }
+    }
 }
@@ -0,0 +1,650 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.apache.maven.api.model.ActivationFile;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.services.BuilderProblem;
+import org.apache.maven.api.services.ModelBuilderRequest;
+import org.apache.maven.api.services.ModelProblem;
+import org.apache.maven.model.v4.MavenBinaryReader;
+import org.apache.maven.model.v4.MavenBinaryWriter;
+import org.apache.maven.model.v4.MavenStaxWriter;
+
+/**
+ * Keeps the results of the effective model building of the projects of a reactor, so that a subsequent
+ * build can reuse them for the projects whose inputs have not changed.
+ * <p>
+ * The inputs of a project are summarized by a digest, computed from:
+ * <ul>
+ *     <li>the build context: Maven version, request type, root directory, user and system properties,
+ *         requested profiles, external profiles, repositories, model transformers and the coordinates
+ *         of all the projects of the reactor,</li>
+ *     <li>the content of the POM of the project and of its parents in the reactor, or the coordinates
+ *         of its external parent,</li>
+ *     <li>the state of the files used for the activation of the profiles of those POMs.</li>
+ * </ul>
+ * Imported BOMs are recorded when the project is built: BOMs from the reactor must still be valid
+ * when the result is reused, while external BOMs are only allowed for release versions.  Projects
+ * depending on anything else that may change between builds (external snapshot parents, version
+ * ranges or build timestamps) are not cached.
+ * <p>
+ * The entries are kept in memory, and can be saved to a file in order to be reused by the next
+ * builds.  The file uses a compact binary format, written and read by the generated
+ * {@link MavenBinaryWriter} and {@link MavenBinaryReader}.  Its header contains a hash of the model
+ * classes, so that a file written by a build of Maven with a different model is ignored.
+ */
+public class IncrementalModelCache {
+
+    private static final int MAGIC = 0x4d564e4d; // "MVNM"
+    private static final int FORMAT = 2;
+
+    /**
+     * The maximum number of root directories whose entries are kept, so that a resident or embedded
+     * Maven building many different projects does not accumulate their entries forever.
+     */
+    static final int MAX_ROOTS = 8;
+
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Path> loaded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The root directories of the last builds, from the least to the most recently built.
+     */
+    private final Map<Path, Boolean> roots = new LinkedHashMap<>(16, 0.75f, true);
+
+    public Entry get(Path pom) {
+        return entries.get(pom);
+    }
+
+    public void put(Path pom, Entry entry) {
+        entries.put(pom, entry);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+        loaded.clear();
+        synchronized (roots) {
+            roots.clear();
+        }
+    }
+
+    /**
+     * Loads the entries stored in the given file by {@link #save(Path, Path)}, unless they have already
+     * been loaded.  The entries already present in memory are kept.
+     *
+     * @param file the file to load
+     * @throws IOException if the file can not be read, is corrupted or has not been written by this version
+     */
+    public void load(Path file) throws IOException {
+        if (loaded.contains(file) || !Files.isRegularFile(file)) {
+            return;
+        }
+        Map<Path, Entry> read = new HashMap<>();
+        try {
+            // the file is read in memory rather than mapped, so that it can be replaced while loaded on Windows
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT || buffer.getInt() != MavenBinaryWriter.SCHEMA) {
+                throw new IOException("Unsupported format");
+            }
+            MavenBinaryReader reader = new MavenBinaryReader(buffer);
+            int count = reader.readInt();
+            for (int i = 0; i < count; i++) {
+                Path pom = reader.readPath();
+                read.put(
+                        pom,
+                        new Entry(
+                                reader.readString(),
+                                List.copyOf(reader.readStrings()),
+                                reader.readModel(),
+                                reader.readModel(),
+                                reader.readModel(),
+                                reader.readModel(),
+                                readProfiles(reader),
+                                readProfiles(reader),
+                                readProblems(reader)));
+            }
+        } catch (RuntimeException | OutOfMemoryError e) {
+            // a corrupted file may fail in many ways, including with huge allocations: it is discarded
+            throw new IOException("Corrupted file", e);
+        }
+        read.forEach(entries::putIfAbsent);
+        loaded.add(file);
+    }
+
+    /**
+     * Stores the entries of the projects located in the given root directory in the given file.
+     * The file is written atomically, so that concurrent builds never read a partially written file.
+     *
+     * @param file the file to write
+     * @param rootDirectory the root directory
+     * @throws IOException if the file can not be written
+     */
+    public void save(Path file, Path rootDirectory) throws IOException {
+        Map<Path, Entry> saved = new TreeMap<>();
+        entries.forEach((pom, entry) -> {
+            if (pom.startsWith(rootDirectory)) {
+                saved.put(pom, entry);
+            }
+        });
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 65536))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeInt(MavenBinaryWriter.SCHEMA);
+                MavenBinaryWriter writer = new MavenBinaryWriter(out);
+                writer.writeInt(saved.size());
+                for (Map.Entry<Path, Entry> e : saved.entrySet()) {
+                    Entry entry = e.getValue();
+                    writer.writePath(e.getKey());
+                    writer.writeString(entry.digest());
+                    writer.writeStrings(entry.imports());
+                    writer.writeModel(entry.fileModel());
+                    writer.writeModel(entry.rawModel());
+                    writer.writeModel(entry.parentModel());
+                    writer.writeModel(entry.effectiveModel());
+                    writeProfiles(writer, entry.activePomProfiles());
+                    writeProfiles(writer, entry.activeExternalProfiles());
+                    writeProblems(writer, entry.problems());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeProfiles(MavenBinaryWriter writer, List<Profile> profiles) throws IOException {
+        writer.writeInt(profiles != null ? profiles.size() : -1);
+        if (profiles != null) {
+            for (Profile profile : profiles) {
+                writer.writeProfile(profile);
+            }
+        }
+    }
+
+    private static List<Profile> readProfiles(MavenBinaryReader reader) {
+        int size = reader.readInt();
+        if (size < 0) {
+            return null;
+        }
+        List<Profile> profiles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            profiles.add(reader.readProfile());
+        }
+        return profiles;
+    }
+
+    private static void writeProblems(MavenBinaryWriter writer, List<ModelProblem> problems) throws IOException {
+        writer.writeInt(problems.size());
+        for (ModelProblem problem : problems) {
+            // exceptions are not kept, only their message
+            writer.writeString(problem.getMessage());
+            writer.writeString(problem.getSeverity().name());
+            writer.writeString(problem.getVersion().name());
+            writer.writeString(problem.getSource());
+            writer.writeInt(problem.getLineNumber());
+            writer.writeInt(problem.getColumnNumber());
+            writer.writeString(problem.getModelId());
+        }
+    }
+
+    private static List<ModelProblem> readProblems(MavenBinaryReader reader) {
+        int size = reader.readInt();
+        List<ModelProblem> problems = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            problems.add(new DefaultModelProblem(
+                    reader.readString(),
+                    BuilderProblem.Severity.valueOf(reader.readString()),
+                    ModelProblem.Version.valueOf(reader.readString()),
+                    reader.readString(),
+                    reader.readInt(),
+                    reader.readInt(),
+                    reader.readString(),
+                    null));
+        }
+        return List.copyOf(problems);
+    }
+
+    /**
+     * Removes the entries of the projects located in the given root directory which do not belong
+     * to the reactor anymore, and the entries of the least recently built root directories beyond
+     * {@link #MAX_ROOTS}.
+     */
+    void retain(Path rootDirectory, Collection<Path> reactor) {
+        entries.keySet().removeIf(p -> p.startsWith(rootDirectory) && !reactor.contains(p));
+        Set<Path> retained;
+        synchronized (roots) {
+            roots.put(rootDirectory, Boolean.TRUE);
+            if (roots.size() <= MAX_ROOTS) {
+                return;
+            }
+            Iterator<Path> iterator = roots.keySet().iterator();
+            while (roots.size() > MAX_ROOTS) {
+                iterator.next();
+                iterator.remove();
+            }
+            retained = Set.copyOf(roots.keySet());
+        }
+        Predicate<Path> evicted = p -> retained.stream().noneMatch(p::startsWith);
+        entries.keySet().removeIf(evicted);
+        loaded.removeIf(evicted);
+    }
+
+    /**
+     * Creates a new digester for a build of the given reactor.
+     *
+     * @param context the digest of the build context
+     * @param rootDirectory the root directory
+     * @param fileModels the file models of the reactor, keyed by their path
+     * @param locator locates the POM file of a project, given a file or directory
+     * @return a new digester
+     */
+    Digester digester(String context, Path rootDirectory, Map<Path, Model> fileModels, UnaryOperator<Path> locator) {
+        return new Digester(context, rootDirectory, fileModels, locator);
+    }
+
+    /**
+     * Computes the digest of the build context.
+     */
+    static String context(
+            ModelBuilderRequest request, Path rootDirectory, Collection<?> transformers, Collection<Model> fileModels) {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append(request.getSession().getMavenVersion())
+                .append('\n')
+                .append(request.getRequestType())
+                .append('\n')
+                .append(rootDirectory)
+                .append('\n');
+        new TreeMap<>(request.getUserProperties())
+                .forEach((k, v) -> sb.append(k).append('=').append(v).append('\n'));
+        new TreeMap<>(request.getSystemProperties())
+                .forEach((k, v) -> sb.append(k).append('=').append(v).append('\n'));
+        sb.append(request.getActiveProfileIds())
+                .append('\n')
+                .append(request.getInactiveProfileIds())
+                .append('\n');
+        if (request.getProfiles() != null && !request.getProfiles().isEmpty()) {
+            try {
+                StringWriter writer = new StringWriter();
+                new MavenStaxWriter()
+                        .write(
+                                writer,
+                                Model.newBuilder()
+                                        .profiles(List.copyOf(request.getProfiles()))
+                                        .build());
+                sb.append(writer).append('\n');
+            } catch (Exception e) {
+                // not expected when writing to a string, fall back to the identifiers
+                request.getProfiles().forEach(p -> sb.append(p.getId()).append('\n'));
+            }
+        }
+        if (request.getRepositories() != null) {
+            request.getRepositories()
+                    .forEach(r ->
+                            sb.append(r.getId()).append("::").append(r.getUrl()).append('\n'));
+        }
+        transformers.forEach(t -> sb.append(t.getClass().getName()).append('\n'));
+        TreeSet<String> gavs = new TreeSet<>();
+        for (Model model : fileModels) {
+            gavs.add(DefaultModelBuilder.getGroupId(model)
+                    + ':'
+                    + model.getArtifactId()
+                    + ':'
+                    + DefaultModelBuilder.getVersion(model));
+        }
+        gavs.forEach(gav -> sb.append(gav).append('\n'));
+        return sha256(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static boolean isRelease(String version) {
+        return version != null
+                && !version.endsWith("SNAPSHOT")
+                && version.chars().noneMatch(c -> c == '[' || c == '(' || c == ',');
+    }
+
+    /**
+     * The result of the build of a project, along with the digest of its inputs.
+     *
+     * @param digest the digest of the inputs of the project
+     * @param imports the coordinates of the BOMs imported while building the project
+     * @param fileModel the file model
+     * @param rawModel the raw model
+     * @param parentModel the parent model
+     * @param effectiveModel the effective model
+     * @param activePomProfiles the active POM profiles
+     * @param activeExternalProfiles the active external profiles
+     * @param problems the problems reported while building the effective model
+     */
+    public record Entry(
+            String digest,
+            List<String> imports,
+            Model fileModel,
+            Model rawModel,
+            Model parentModel,
+            Model effectiveModel,
+            List<Profile> activePomProfiles,
+            List<Profile> activeExternalProfiles,
+            List<ModelProblem> problems) {}
+
+    /**
+     * Records the imports and problems of the build of a project.
+     */
+    static class Recorder {
+        final List<String> imports = new CopyOnWriteArrayList<>();
+        final List<ModelProblem> problems = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Computes the digests of the projects of a reactor and checks the validity of the cached entries.
+     * A digester is used for a single build, and memoizes the computed digests.
+     */
+    class Digester {
+        private static final String NONE = "";
+
+        private final String context;
+        private final Path rootDirectory;
+        private final Map<Path, Model> fileModels;
+        private final UnaryOperator<Path> locator;
+        private final Map<String, Path> reactor = new HashMap<>();
+        private final Map<Path, String> lineages = new ConcurrentHashMap<>();
+        private final Map<Path, String> digests = new ConcurrentHashMap<>();
+        private final Map<Path, Boolean> valid = new HashMap<>();
+        private volatile boolean modified;
+
+        Digester(String context, Path rootDirectory, Map<Path, Model> fileModels, UnaryOperator<Path> locator) {
+            this.context = context;
+            this.rootDirectory = rootDirectory;
+            this.fileModels = fileModels;
+            this.locator = locator;
+            fileModels.forEach((path, model) -> {
+                reactor.put(DefaultModelBuilder.getGroupId(model) + ':' + model.getArtifactId(), path);
+            });
+        }
+
+        /**
+         * Returns the digest of the inputs of the given project of the reactor,
+         * or {@code null} if the project can not be cached.
+         */
+        String digest(Path pom) {
+            return memoize(digests, pom, this::computeDigest);
+        }
+
+        /**
+         * Returns the cached entry for the given project if it can be reused, {@code null} otherwise.
+         */
+        Entry lookup(Path pom) {
+            return isValid(pom) ? entries.get(pom) : null;
+        }
+
+        /**
+         * Stores the result of the build of the given project, if it can be reused by a subsequent build.
+         */
+        void store(Path pom, DefaultModelBuilderResult result, Recorder recorder) {
+            String digest = digest(pom);
+            if (digest == null || result.getEffectiveModel() == null) {
+                return;
+            }
+            List<String> imports = new ArrayList<>(new TreeSet<>(recorder.imports));
+            for (String gav : imports) {
+                String[] parts = gav.split(":");
+                if (!reactor.containsKey(parts[0] + ':' + parts[1]) && !isRelease(parts[2])) {
+                    return;
+                }
+            }
+            entries.put(
+                    pom,
+                    new Entry(
+                            digest,
+                            imports,
+                            result.getFileModel(),
+                            result.getRawModel(),
+                            result.getParentModel(),
+                            result.getEffectiveModel(),
+                            result.getActivePomProfiles(),
+                            result.getActiveExternalProfiles(),
+                            List.copyOf(recorder.problems)));
+            modified = true;
+        }
+
+        /**
+         * Returns {@code true} if new entries have been stored by this digester.
+         */
+        boolean isModified() {
+            return modified;
+        }
+
+        private synchronized boolean isValid(Path pom) {
+            Boolean b = valid.get(pom);
+            if (b == null) {
+                valid.put(pom, false);
+                b = computeValid(pom);
+                valid.put(pom, b);
+            }
+            return b;
+        }
+
+        private boolean computeValid(Path pom) {
+            Entry entry = entries.get(pom);
+            if (entry == null || !entry.digest().equals(digest(pom))) {
+                return false;
+            }
+            for (String gav : entry.imports()) {
+                String[] parts = gav.split(":");
+                Path imported = reactor.get(parts[0] + ':' + parts[1]);
+                if (imported != null && !isValid(imported)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String memoize(Map<Path, String> memo, Path pom, Function<Path, String> compute) {
+            String digest = memo.get(pom);
+            if (digest == null) {
+                // mark the project to break cycles, those are reported by the model builder
+                memo.put(pom, NONE);
+                digest = compute.apply(pom);
+                memo.put(pom, digest != null ? digest : NONE);
+            }
+            return digest.isEmpty() ? null : digest;
+        }
+
+        private String computeDigest(Path pom) {
+            String lineage = memoize(lineages, pom, this::computeLineage);
+            if (lineage == null) {
+                return null;
+            }
+            // profiles of the project and its parents are activated using the project directory
+            StringBuilder sb = new StringBuilder(lineage);
+            Path path = pom;
+            while (path != null) {
+                Model model = fileModels.get(path);
+                if (!appendActivations(sb, pom, path, model)) {
+                    return null;
+                }
+                path = model.getParent() != null ? parentPom(path, model.getParent()) : null;
+            }
+            return sha256(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Computes the digest of the content of the given POM and of its parents.
+         */
+        private String computeLineage(Path pom) {
+            Model model = fileModels.get(pom);
+            if (model == null) {
+                return null;
+            }
+            byte[] content;
+            try {
+                content = Files.readAllBytes(pom);
+            } catch (IOException e) {
+                return null;
+            }
+            if (new String(content, StandardCharsets.UTF_8).contains("build.timestamp")) {
+                return null;
+            }
+            StringBuilder sb = new StringBuilder(256);
+            sb.append(context).append('\n').append(pom).append('\n').append(sha256(content));
+            model.getSubprojects().forEach(s -> sb.append('\n').append(s));
+            model.getModules().forEach(s -> sb.append('\n').append(s));
+            Parent parent = model.getParent();
+            if (parent != null) {
+                Path parentPom = parentPom(pom, parent);
+                if (parentPom != null) {
+                    String parentLineage = memoize(lineages, parentPom, this::computeLineage);
+                    if (parentLineage == null) {
+                        return null;
+                    }
+                    sb.append('\n').append(parentLineage);
+                } else if (isRelease(parent.getVersion()) && !isLocal(pom, parent)) {
+                    sb.append('\n')
+                            .append(parent.getGroupId())
+                            .append(':')
+                            .append(parent.getArtifactId())
+                            .append(':')
+                            .append(parent.getVersion());
+                } else {
+                    return null;
+                }
+            }
+            return sha256(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Locates the parent of a project inside the reactor, mirroring the lookup done by the model builder.
+         */
+        private Path parentPom(Path pom, Parent parent) {
+            String relativePath = parent.getRelativePath();
+            if (relativePath != null && !relativePath.isEmpty()) {
+                return matching(locator.apply(pom.resolveSibling(relativePath)), parent);
+            }
+            Path path = reactor.get(parent.getGroupId() + ':' + parent.getArtifactId());
+            if (path != null) {
+                Model model = fileModels.get(path);
+                if (parent.getVersion() == null || parent.getVersion().equals(DefaultModelBuilder.getVersion(model))) {
+                    return path;
+                }
+            }
+            return relativePath == null ? matching(locator.apply(pom.resolveSibling("..")), parent) : null;
+        }
+
+        private Path matching(Path path, Parent parent) {
+            if (path != null) {
+                path = path.toAbsolutePath().normalize();
+                Model model = fileModels.get(path);
+                if (model != null
+                        && parent.getGroupId().equals(DefaultModelBuilder.getGroupId(model))
+                        && parent.getArtifactId().equals(model.getArtifactId())) {
+                    return path;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Checks if the parent may be read from a file outside the reactor, which is not tracked.
+         */
+        private boolean isLocal(Path pom, Parent parent) {
+            String relativePath = parent.getRelativePath();
+            if (relativePath == null) {
+                relativePath = "..";
+            }
+            if (relativePath.isEmpty()) {
+                return false;
+            }
+            Path path = locator.apply(pom.resolveSibling(relativePath));
+            return path != null && !fileModels.containsKey(path.toAbsolutePath().normalize());
+        }
+
+        /**
+         * Appends the state of the files used to activate the profiles of a model.
+         * Returns {@code false} if the state can not be determined.
+         */
+        private boolean appendActivations(StringBuilder sb, Path pom, Path declaring, Model model) {
+            for (Profile profile : model.getProfiles()) {
+                ActivationFile file = profile.getActivation() != null
+                        ? profile.getActivation().getFile()
+                        : null;
+                if (file != null) {
+                    for (String path : new String[] {file.getExists(), file.getMissing()}) {
+                        if (path != null && !path.isEmpty()) {
+                            String resolved = path.replace("${project.basedir}", "${basedir}")
+                                    .replace("${project.rootDirectory}", rootDirectory.toString());
+                            if (resolved.replace("${basedir}", "").contains("${")) {
+                                return false;
+                            }
+                            for (Path dir : new TreeSet<>(List.of(pom.getParent(), declaring.getParent()))) {
+                                Path f = dir.resolve(resolved.replace("${basedir}", dir.toString()));
+                                sb.append('\n').append(f).append('=').append(Files.exists(f));
+                            }
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.api.services.Source;
+
+/**
+ * A model cache for resident Maven instances, which shares some of its entries across sessions.
+ * <p>
+ * Entries are shared only when they can be safely reused by a subsequent build:
+ * <ul>
+ *     <li>models read from a file outside the root directory (i.e. from the local repository),
+ *         or file models read from the root directory, validated using the size and last modification
+ *         time of the file, so that they are invalidated when the file is edited,</li>
+ *     <li>GAV-keyed values of non-snapshot versions which are {@linkplain Shareable shareable}, such as
+ *         the models imported from the repositories without problems.</li>
+ * </ul>
+ * Shared entries are also bound to the session context (root directory, user properties and remote
+ * repositories) as those may influence the computed models.  Other entries are kept for the duration
+ * of the session only.  Shared entries are kept in a {@link Store} which is bounded and evicts the
+ * least recently used entries.
+ */
+public class ResidentModelCache extends DefaultModelCache {
+
+    private static final String FILE = "file";
+
+    private final Store store;
+    private final Context context;
+
+    public ResidentModelCache(Store store, Session session) {
+        this(store, session, Policy.DEFAULT);
+    }
+
+    public ResidentModelCache(Store store, Session session, Policy policy) {
+        super(policy);
+        this.store = store;
+        this.context = Context.of(session);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked"})
+    public <T> T computeIfAbsent(String groupId, String artifactId, String version, String tag, Supplier<T> data) {
+        SharedKey key = null;
+        if (version != null && !version.endsWith("SNAPSHOT")) {
+            key = new SharedKey(context, new GavCacheKey(groupId, artifactId, version, tag), tag);
+            Object shared = store.get(key, stats(tag));
+            if (shared != null) {
+                return (T) shared;
+            }
+        }
+        T value = super.computeIfAbsent(groupId, artifactId, version, tag, data);
+        if (key != null && value instanceof Shareable s && s.shareable()) {
+            store.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked"})
+    public <T> T computeIfAbsent(Source source, String tag, Supplier<T> data) {
+        Path path = source.getPath();
+        if (path != null && isShareable(path, tag)) {
+            FileStamp stamp = FileStamp.of(path);
+            if (stamp != null) {
+                return (T) store.computeIfAbsent(new SharedKey(context, path, tag), stamp, data, stats(tag));
+            }
+        }
+        return super.computeIfAbsent(source, tag, data);
+    }
+
+    private boolean isShareable(Path path, String tag) {
+        if (context.rootDirectory != null && path.startsWith(context.rootDirectory)) {
+            // other models of the reactor depend on other files (parents, reactor versions)
+            return FILE.equals(tag);
+        }
+        return !path.toString().contains("SNAPSHOT");
+    }
+
+    /**
+     * A GAV-keyed value which tells whether it can be shared with the builds of other sessions.
+     * Such a value is shared only if it does not depend on the files of the reactor, which may be edited
+     * between the builds, and if no problem was reported while computing it, as the problems are not
+     * reported again when the value is reused.  Other GAV-keyed values are kept for the session only.
+     */
+    interface Shareable {
+        boolean shareable();
+    }
+
+    /**
+     * The store holding the entries shared across sessions, evicting the least recently used
+     * entries when its capacity is reached.
+     */
+    public static class Store {
+        private final int capacity;
+        private final Map<SharedKey, SharedEntry> entries;
+
+        public Store(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<SharedKey, SharedEntry> eldest) {
+                    return size() > Store.this.capacity;
+                }
+            };
+        }
+
+        public int capacity() {
+            return capacity;
+        }
+
+        public synchronized int size() {
+            return entries.size();
+        }
+
+        public synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized Object get(SharedKey key, TagStats tagStats) {
+            SharedEntry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            tagStats.hits.increment();
+            return entry.supplier.get();
+        }
+
+        synchronized void put(SharedKey key, Object value) {
+            entries.put(key, new SharedEntry(null, () -> value));
+        }
+
+        Object computeIfAbsent(SharedKey key, FileStamp stamp, Supplier<?> data, TagStats tagStats) {
+            SharedEntry entry;
+            synchronized (this) {
+                entry = entries.get(key);
+                if (entry == null || !Objects.equals(entry.stamp, stamp)) {
+                    entry = new SharedEntry(stamp, new CachingSupplier<>(tagStats.timed(data)));
+                    entries.put(key, entry);
+                    tagStats.misses.increment();
+                } else {
+                    tagStats.hits.increment();
+                }
+            }
+            Object value;
+            try {
+                value = entry.supplier.get();
+            } catch (Throwable t) {
+                // do not keep failures across sessions
+                synchronized (this) {
+                    entries.remove(key, entry);
+                }
+                throw t;
+            }
+            if (value == null) {
+                // nothing to share, the next session computes it again and reports its problems
+                synchronized (this) {
+                    entries.remove(key, entry);
+                }
+            }
+            return value;
+        }
+    }
+
+    record SharedEntry(FileStamp stamp, Supplier<?> supplier) {}
+
+    record SharedKey(Context context, Object id, String tag) {}
+
+    record FileStamp(long lastModified, long size) {
+        static FileStamp of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    record Context(Path rootDirectory, Map<String, String> userProperties, List<String> repositories) {
+        static Context of(Session session) {
+            Path rootDirectory;
+            try {
+                rootDirectory = session.getRootDirectory();
+            } catch (IllegalStateException e) {
+                rootDirectory = null;
+            }
+            return new Context(
+                    rootDirectory,
+                    Map.copyOf(session.getUserProperties()),
+                    session.getRemoteRepositories().stream()
+                            .map(r -> r.getId() + "::" + r.getUrl())
+                            .toList());
+        }
+    }
+}
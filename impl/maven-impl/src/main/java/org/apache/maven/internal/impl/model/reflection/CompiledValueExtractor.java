@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.api.annotations.Nonnull;
+import org.apache.maven.api.annotations.Nullable;
+
+import static org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractor.EOF;
+import static org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractor.INDEXED_END;
+import static org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractor.INDEXED_START;
+import static org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractor.MAPPED_END;
+import static org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractor.MAPPED_START;
+import static org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractor.PROPERTY_START;
+
+/**
+ * A compiled form of the expressions supported by {@link ReflectionValueExtractor#evaluate(String, Object)}.
+ * The expression is parsed once, and the accessors are resolved once per class and property and invoked through
+ * {@link MethodHandle}s, so that evaluating the same expression many times does not tokenize it nor look up the
+ * accessors again.
+ * <p>
+ * The evaluation gives the same results as {@link ReflectionValueExtractor#evaluate(String, Object)}; in the
+ * unusual cases (ambiguous or inaccessible accessors, type mismatches), the evaluation is delegated to it.
+ * Instances are immutable and thread-safe.
+ *
+ * @since 4.0.0
+ */
+public final class CompiledValueExtractor {
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Marker of the accessors which cannot be invoked through a method handle.
+     */
+    private static final Object LEGACY = new Object();
+
+    /**
+     * Marker of the missing accessors.
+     */
+    private static final Object MISSING = new Object();
+
+    private static final ClassValue<Map<String, Object>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ClassValue<ClassMap> CLASS_MAPS = new ClassValue<>() {
+        @Override
+        protected ClassMap computeValue(Class<?> type) {
+            return new ClassMap(type);
+        }
+    };
+
+    private final String expression;
+
+    /**
+     * The steps to walk from the root object, or {@code null} if the expression always evaluates to {@code null}.
+     */
+    private final Step[] steps;
+
+    private CompiledValueExtractor(String expression, Step[] steps) {
+        this.expression = expression;
+        this.steps = steps;
+    }
+
+    /**
+     * Compiles the given expression, the root token of which is trimmed like
+     * {@link ReflectionValueExtractor#evaluate(String, Object)} does.
+     *
+     * @param expression not null expression
+     * @return the compiled expression
+     */
+    public static CompiledValueExtractor compile(@Nonnull String expression) {
+        if (expression == null || expression.isEmpty() || !Character.isJavaIdentifierStart(expression.charAt(0))) {
+            return new CompiledValueExtractor(expression, null);
+        }
+
+        final ReflectionValueExtractor.Tokenizer tokenizer;
+        if (expression.indexOf(PROPERTY_START) >= 0) {
+            tokenizer = new ReflectionValueExtractor.Tokenizer(expression);
+            tokenizer.nextPropertyName();
+            if (tokenizer.getPosition() == EOF) {
+                return new CompiledValueExtractor(expression, null);
+            }
+        } else {
+            tokenizer = new ReflectionValueExtractor.Tokenizer("." + expression);
+        }
+
+        List<Step> steps = new ArrayList<>();
+        while (tokenizer.peekChar() != EOF) {
+            switch (tokenizer.skipChar()) {
+                case INDEXED_START:
+                    steps.add(new IndexedStep(parseIndex(tokenizer.nextToken(INDEXED_END))));
+                    break;
+                case MAPPED_START:
+                    steps.add(new MappedStep(tokenizer.nextToken(MAPPED_END)));
+                    break;
+                case PROPERTY_START:
+                    steps.add(new PropertyStep(tokenizer.nextPropertyName()));
+                    break;
+                default:
+                    // could not parse expression
+                    steps.add(NullStep.INSTANCE);
+                    return new CompiledValueExtractor(expression, steps.toArray(Step[]::new));
+            }
+        }
+        return new CompiledValueExtractor(expression, steps.toArray(Step[]::new));
+    }
+
+    private static Integer parseIndex(String index) {
+        try {
+            return index != null ? Integer.parseInt(index) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the compiled expression.
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Evaluates this expression against the given root object.
+     *
+     * @param root the root object
+     * @return the object defined by the expression
+     * @throws IntrospectionException if any
+     */
+    public Object evaluate(@Nullable Object root) throws IntrospectionException {
+        if (steps == null) {
+            return null;
+        }
+        Object value = root;
+        for (int i = 0; value != null && i < steps.length; i++) {
+            value = steps[i].apply(value);
+            if (value == LEGACY) {
+                return ReflectionValueExtractor.evaluate(expression, root);
+            }
+        }
+        if (value instanceof Optional<?> optional) {
+            value = optional.orElse(null);
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private interface Step {
+        /**
+         * Returns the value of this step for the given non-null value, or {@link #LEGACY} if the evaluation
+         * must be delegated to {@link ReflectionValueExtractor}.
+         */
+        Object apply(Object value) throws IntrospectionException;
+    }
+
+    private enum NullStep implements Step {
+        INSTANCE;
+
+        @Override
+        public Object apply(Object value) {
+            return null;
+        }
+    }
+
+    private record IndexedStep(Integer index) implements Step {
+        @Override
+        public Object apply(Object value) {
+            if (index == null) {
+                return null;
+            }
+            if (value.getClass().isArray()) {
+                return index >= 0 && index < Array.getLength(value) ? Array.get(value, index) : null;
+            }
+            if (value instanceof List<?> list) {
+                return index >= 0 && index < list.size() ? list.get(index) : null;
+            }
+            return LEGACY;
+        }
+    }
+
+    private record MappedStep(String key) implements Step {
+        @Override
+        public Object apply(Object value) {
+            if (key == null) {
+                return null;
+            }
+            if (value instanceof Map<?, ?> map) {
+                return map.get(key);
+            }
+            return LEGACY;
+        }
+    }
+
+    private record PropertyStep(String property) implements Step {
+        @Override
+        public Object apply(Object value) throws IntrospectionException {
+            if (property == null || property.isEmpty()) {
+                return null;
+            }
+            Object accessor = ACCESSORS.get(value.getClass()).computeIfAbsent(property, p -> accessor(value, p));
+            if (accessor instanceof MethodHandle handle) {
+                try {
+                    return (Object) handle.invokeExact(value);
+                } catch (Throwable t) {
+                    throw new IntrospectionException(t);
+                }
+            }
+            return accessor == MISSING ? null : LEGACY;
+        }
+
+        private static Object accessor(Object value, String property) {
+            ClassMap classMap = CLASS_MAPS.get(value.getClass());
+            String methodBase = Character.toTitleCase(property.charAt(0)) + property.substring(1);
+            try {
+                for (String prefix : new String[] {"get", "is", "to", "as"}) {
+                    Method method = classMap.findMethod(prefix + methodBase);
+                    if (method != null) {
+                        return MethodHandles.publicLookup().unreflect(method).asType(ACCESSOR_TYPE);
+                    }
+                }
+                return MISSING;
+            } catch (MethodMap.AmbiguousException | IllegalAccessException e) {
+                return LEGACY;
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.resolver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.maven.api.Constants;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.scope.ResolutionScope;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+
+/**
+ * A cache of the dependency graphs collected during a session, so that the projects of a reactor declaring the
+ * same dependencies (typically because they share the same parent or import the same BOM) do not collect the same
+ * graph again.  The graphs are keyed by the dependencies, managed dependencies, repositories, resolution scope and
+ * collection settings of the request, but not by the root artifact: the graph is collected without root artifact,
+ * and the root artifact of each request is set on a copy of the cached graph.  The callers can thus modify the
+ * returned graph, for example when resolving the artifacts.
+ * <p>
+ * A graph collected without root artifact may differ from the graph collected for a project if it contains another
+ * version of the project artifact itself, which the conflict resolution would have removed.  In this unusual case,
+ * the graph is collected again for the request.  The root artifact is also part of the key when a version filter
+ * is used, as the filters may depend on it.
+ * <p>
+ * Only the successful collections are cached.  Concurrent requests for the same graph wait for the first one to
+ * complete instead of collecting it too.  The cache is stored in the {@link RepositorySystemSession#getData() data}
+ * of the session, and can be disabled with {@link Constants#MAVEN_RESOLVER_COLLECT_CACHE}.
+ *
+ * @since 4.0.0
+ */
+public final class CollectResultCache {
+
+    private static final Object KEY = CollectResultCache.class.getName();
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private CollectResultCache() {}
+
+    /**
+     * Collects the dependencies of the given request, reusing the graph collected for an equivalent request of
+     * the same session if any.
+     *
+     * @param system the repository system
+     * @param session the repository session
+     * @param request the collection request
+     * @return the collection result, with a graph owned by the caller
+     * @throws DependencyCollectionException if the dependencies could not be collected
+     * @see RepositorySystem#collectDependencies(RepositorySystemSession, CollectRequest)
+     */
+    public static CollectResult collectDependencies(
+            RepositorySystem system, RepositorySystemSession session, CollectRequest request)
+            throws DependencyCollectionException {
+        if (!ConfigUtils.getBoolean(session, true, Constants.MAVEN_RESOLVER_COLLECT_CACHE)) {
+            return system.collectDependencies(session, request);
+        }
+        CollectResultCache cache =
+                (CollectResultCache) session.getData().computeIfAbsent(KEY, CollectResultCache::new);
+        return cache.collect(system, session, request);
+    }
+
+    private CollectResult collect(RepositorySystem system, RepositorySystemSession session, CollectRequest request)
+            throws DependencyCollectionException {
+        // the root artifact is not used by the collection when the root is given as a dependency,
+        // but it is used by the version filters, for example to accept snapshots for a snapshot project
+        boolean keepRoot = request.getRoot() != null
+                || request.getRootArtifact() == null
+                || session.getVersionFilter() != null;
+        Key key = new Key(
+                request.getRoot(),
+                keepRoot ? request.getRootArtifact() : null,
+                List.copyOf(request.getDependencies()),
+                List.copyOf(request.getManagedDependencies()),
+                List.copyOf(request.getRepositories()),
+                request.getRequestContext(),
+                request.getResolutionScope(),
+                List.of(
+                        Objects.toString(session.getConfigProperties().get(ConflictResolver.CONFIG_PROP_VERBOSE)),
+                        Objects.toString(
+                                session.getConfigProperties().get(DependencyManagerUtils.CONFIG_PROP_VERBOSE))),
+                session.getDependencySelector(),
+                session.getDependencyManager(),
+                session.getDependencyTraverser(),
+                session.getVersionFilter(),
+                session.getDependencyGraphTransformer());
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+
+        DependencyNode root;
+        entry.lock.lock();
+        try {
+            if (entry.root == null) {
+                CollectRequest shared = new CollectRequest()
+                        .setRoot(request.getRoot())
+                        .setRootArtifact(keepRoot ? request.getRootArtifact() : null)
+                        .setDependencies(request.getDependencies())
+                        .setManagedDependencies(request.getManagedDependencies())
+                        .setRepositories(request.getRepositories())
+                        .setRequestContext(request.getRequestContext())
+                        .setTrace(request.getTrace());
+                shared.setResolutionScope(request.getResolutionScope());
+                try {
+                    entry.root = system.collectDependencies(session, shared).getRoot();
+                } catch (DependencyCollectionException e) {
+                    // not cached, collect again for the request to report the errors against its root
+                    return system.collectDependencies(session, request);
+                }
+            }
+            root = entry.root;
+        } finally {
+            entry.lock.unlock();
+        }
+
+        if (!keepRoot && contains(root, request.getRootArtifact(), new IdentityHashMap<>())) {
+            return system.collectDependencies(session, request);
+        }
+        DependencyNode copy = copy(root);
+        if (!keepRoot) {
+            copy.setArtifact(request.getRootArtifact());
+        }
+        return new CollectResult(request).setRoot(copy);
+    }
+
+    /**
+     * Returns whether the given graph contains another version of the given artifact.
+     */
+    private static boolean contains(DependencyNode node, Artifact artifact, Map<DependencyNode, Boolean> visited) {
+        for (DependencyNode child : node.getChildren()) {
+            if (visited.put(child, Boolean.TRUE) == null) {
+                Artifact a = child.getArtifact();
+                if (a != null
+                        && a.getArtifactId().equals(artifact.getArtifactId())
+                        && a.getGroupId().equals(artifact.getGroupId())) {
+                    return true;
+                }
+                if (contains(child, artifact, visited)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a deep copy of the given graph, preserving the nodes shared by several parents.
+     */
+    static DependencyNode copy(DependencyNode root) {
+        Map<DependencyNode, DependencyNode> copies = new IdentityHashMap<>();
+        DependencyNode copy = copy(root, copies);
+        // the data of the nodes may refer to other nodes, for example the winners of the conflict resolution
+        for (DependencyNode node : copies.values()) {
+            if (!node.getData().isEmpty()) {
+                Map<Object, Object> data = new HashMap<>(node.getData());
+                data.replaceAll((k, v) -> v instanceof DependencyNode n ? copies.getOrDefault(n, n) : v);
+                node.setData(data);
+            }
+        }
+        return copy;
+    }
+
+    private static DependencyNode copy(DependencyNode node, Map<DependencyNode, DependencyNode> copies) {
+        DependencyNode copy = copies.get(node);
+        if (copy == null) {
+            copy = new DefaultDependencyNode(node);
+            copies.put(node, copy);
+            List<DependencyNode> children = new ArrayList<>(node.getChildren().size());
+            for (DependencyNode child : node.getChildren()) {
+                children.add(copy(child, copies));
+            }
+            copy.setChildren(children);
+        }
+        return copy;
+    }
+
+    private record Key(
+            Dependency root,
+            Artifact rootArtifact,
+            List<Dependency> dependencies,
+            List<Dependency> managedDependencies,
+            List<RemoteRepository> repositories,
+            String requestContext,
+            ResolutionScope resolutionScope,
+            List<String> config,
+            Object dependencySelector,
+            Object dependencyManager,
+            Object dependencyTraverser,
+            Object versionFilter,
+            Object dependencyGraphTransformer) {}
+
+    private static final class Entry {
+        final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * The collected graph, which is never modified, or {@code null} if not yet collected.
+         */
+        DependencyNode root;
+    }
+}
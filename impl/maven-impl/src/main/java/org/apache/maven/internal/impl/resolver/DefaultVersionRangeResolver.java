@@ -18,8 +18,6 @@
  */
 package org.apache.maven.internal.impl.resolver;
 
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -32,7 +30,6 @@
 import org.apache.maven.api.di.Singleton;
 import org.apache.maven.api.metadata.Versioning;
 import org.apache.maven.internal.impl.DefaultModelVersionParser;
-import org.apache.maven.metadata.v4.MetadataStaxReader;
 import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositoryEvent.EventType;
 import org.eclipse.aether.RepositorySystemSession;
@@ -70,18 +67,34 @@ public class DefaultVersionRangeResolver implements VersionRangeResolver {
     private final SyncContextFactory syncContextFactory;
     private final RepositoryEventDispatcher repositoryEventDispatcher;
     private final VersionScheme versionScheme;
+    private final MetadataVersioningCache versioningCache;
 
-    @Inject
     public DefaultVersionRangeResolver(
             MetadataResolver metadataResolver,
             SyncContextFactory syncContextFactory,
             RepositoryEventDispatcher repositoryEventDispatcher,
             VersionScheme versionScheme) {
+        this(
+                metadataResolver,
+                syncContextFactory,
+                repositoryEventDispatcher,
+                versionScheme,
+                new MetadataVersioningCache());
+    }
+
+    @Inject
+    public DefaultVersionRangeResolver(
+            MetadataResolver metadataResolver,
+            SyncContextFactory syncContextFactory,
+            RepositoryEventDispatcher repositoryEventDispatcher,
+            VersionScheme versionScheme,
+            MetadataVersioningCache versioningCache) {
         this.metadataResolver = Objects.requireNonNull(metadataResolver, "metadataResolver cannot be null");
         this.syncContextFactory = Objects.requireNonNull(syncContextFactory, "syncContextFactory cannot be null");
         this.repositoryEventDispatcher =
                 Objects.requireNonNull(repositoryEventDispatcher, "repositoryEventDispatcher cannot be null");
         this.versionScheme = Objects.requireNonNull(versionScheme, "versionScheme cannot be null");
+        this.versioningCache = Objects.requireNonNull(versioningCache, "versioningCache cannot be null");
     }
 
     @Override
@@ -196,15 +209,13 @@ private Versioning readVersions(
             VersionRangeResult result) {
         Versioning versioning = null;
         try {
-            if (metadata != null) {
-                try (SyncContext syncContext = syncContextFactory.newInstance(session, true)) {
-                    syncContext.acquire(null, Collections.singleton(metadata));
-
-                    if (metadata.getPath() != null && Files.exists(metadata.getPath())) {
-                        try (InputStream in = Files.newInputStream(metadata.getPath())) {
-                            versioning =
-                                    new MetadataStaxReader().read(in, false).getVersioning();
-                        }
+            if (metadata != null && metadata.getPath() != null) {
+                versioning = versioningCache.get(metadata.getPath());
+                if (versioning == null) {
+                    try (SyncContext syncContext = syncContextFactory.newInstance(session, true)) {
+                        syncContext.acquire(null, Collections.singleton(metadata));
+
+                        versioning = versioningCache.read(metadata.getPath());
                     }
                 }
             }
@@ -19,8 +19,6 @@
 package org.apache.maven.internal.impl.resolver;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,7 +34,6 @@
 import org.apache.maven.api.metadata.Snapshot;
 import org.apache.maven.api.metadata.SnapshotVersion;
 import org.apache.maven.api.metadata.Versioning;
-import org.apache.maven.metadata.v4.MetadataStaxReader;
 import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositoryEvent.EventType;
@@ -79,16 +76,26 @@ public class DefaultVersionResolver implements VersionResolver {
     private final MetadataResolver metadataResolver;
     private final SyncContextFactory syncContextFactory;
     private final RepositoryEventDispatcher repositoryEventDispatcher;
+    private final MetadataVersioningCache versioningCache;
 
-    @Inject
     public DefaultVersionResolver(
             MetadataResolver metadataResolver,
             SyncContextFactory syncContextFactory,
             RepositoryEventDispatcher repositoryEventDispatcher) {
+        this(metadataResolver, syncContextFactory, repositoryEventDispatcher, new MetadataVersioningCache());
+    }
+
+    @Inject
+    public DefaultVersionResolver(
+            MetadataResolver metadataResolver,
+            SyncContextFactory syncContextFactory,
+            RepositoryEventDispatcher repositoryEventDispatcher,
+            MetadataVersioningCache versioningCache) {
         this.metadataResolver = Objects.requireNonNull(metadataResolver, "metadataResolver cannot be null");
         this.syncContextFactory = Objects.requireNonNull(syncContextFactory, "syncContextFactory cannot be null");
         this.repositoryEventDispatcher =
                 Objects.requireNonNull(repositoryEventDispatcher, "repositoryEventDispatcher cannot be null");
+        this.versioningCache = Objects.requireNonNull(versioningCache, "versioningCache cannot be null");
     }
 
     @SuppressWarnings("checkstyle:methodlength")
@@ -239,37 +246,33 @@ private Versioning readVersions(
             VersionResult result) {
         Versioning versioning = null;
         try {
-            if (metadata != null) {
-                try (SyncContext syncContext = syncContextFactory.newInstance(session, true)) {
-                    syncContext.acquire(null, Collections.singleton(metadata));
-
-                    if (metadata.getPath() != null && Files.exists(metadata.getPath())) {
-                        try (InputStream in = Files.newInputStream(metadata.getPath())) {
-                            versioning =
-                                    new MetadataStaxReader().read(in, false).getVersioning();
-
-                            /*
-                            NOTE: Users occasionally misuse the id "local" for remote repos which screws up the metadata
-                            of the local repository. This is especially troublesome during snapshot resolution so we try
-                            to handle that gracefully.
-                             */
-                            if (versioning != null
-                                    && repository instanceof LocalRepository
-                                    && versioning.getSnapshot() != null
-                                    && versioning.getSnapshot().getBuildNumber() > 0) {
-                                versioning = Versioning.newBuilder()
-                                        .lastUpdated(versioning.getLastUpdated())
-                                        .snapshot(Snapshot.newBuilder()
-                                                .localCopy(true)
-                                                .build())
-                                        .build();
-                                throw new IOException("Snapshot information corrupted with remote repository data"
-                                        + ", please verify that no remote repository uses the id '"
-                                        + repository.getId() + "'");
-                            }
-                        }
+            if (metadata != null && metadata.getPath() != null) {
+                versioning = versioningCache.get(metadata.getPath());
+                if (versioning == null) {
+                    try (SyncContext syncContext = syncContextFactory.newInstance(session, true)) {
+                        syncContext.acquire(null, Collections.singleton(metadata));
+
+                        versioning = versioningCache.read(metadata.getPath());
                     }
                 }
+
+                /*
+                NOTE: Users occasionally misuse the id "local" for remote repos which screws up the metadata
+                of the local repository. This is especially troublesome during snapshot resolution so we try
+                to handle that gracefully.
+                 */
+                if (versioning != null
+                        && repository instanceof LocalRepository
+                        && versioning.getSnapshot() != null
+                        && versioning.getSnapshot().getBuildNumber() > 0) {
+                    versioning = Versioning.newBuilder()
+                            .lastUpdated(versioning.getLastUpdated())
+                            .snapshot(Snapshot.newBuilder().localCopy(true).build())
+                            .build();
+                    throw new IOException("Snapshot information corrupted with remote repository data"
+                            + ", please verify that no remote repository uses the id '"
+                            + repository.getId() + "'");
+                }
             }
         } catch (Exception e) {
             invalidMetadata(session, trace, metadata, repository, e);
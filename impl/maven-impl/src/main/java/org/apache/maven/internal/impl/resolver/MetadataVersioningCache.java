@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.resolver;
+
+import javax.xml.stream.XMLStreamException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.api.di.Named;
+import org.apache.maven.api.di.Singleton;
+import org.apache.maven.api.metadata.Versioning;
+import org.apache.maven.metadata.v4.MetadataStaxReader;
+
+/**
+ * A cache of the {@link Versioning} parsed from the {@code maven-metadata*.xml} files, shared by the
+ * {@link DefaultVersionResolver} and the {@link DefaultVersionRangeResolver}, so that the same metadata
+ * files are not parsed again for each SNAPSHOT, LATEST, RELEASE or range resolution.
+ * <p>
+ * The entries are keyed by the path of the metadata file, and are only used as long as the file has the
+ * same size, last modified time and file key (the inode, when supported by the file system, which changes
+ * as the resolver replaces the metadata files when updating them).  The cache is thus safe to be kept
+ * across sessions, and lives as long as the container, which includes the resident daemon.
+ *
+ * @since 4.0.0
+ */
+@Named
+@Singleton
+public class MetadataVersioningCache {
+
+    /**
+     * The maximum number of entries, after which the cache is cleared, to bound the memory used
+     * by a long-lived process.
+     */
+    static final int MAX_ENTRIES = 10_000;
+
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the cached versioning of the given metadata file if the file did not change since it
+     * was read, or {@code null}.  This method does not need any lock, as the file state is checked.
+     */
+    public Versioning get(Path path) {
+        Entry entry = entries.get(path);
+        if (entry != null) {
+            try {
+                if (entry.matches(Files.readAttributes(path, BasicFileAttributes.class))) {
+                    hits.increment();
+                    return entry.versioning();
+                }
+            } catch (IOException e) {
+                // the file has been removed or is not readable, it will be read again
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the versioning of the given metadata file, and caches it.  This method must be called while holding
+     * a lock on the metadata, to ensure it is not modified concurrently.
+     *
+     * @return the versioning, or {@code null} if the file does not exist or does not hold any versioning
+     */
+    public Versioning read(Path path) throws IOException, XMLStreamException {
+        misses.increment();
+        BasicFileAttributes before;
+        try {
+            before = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            entries.remove(path);
+            return null;
+        }
+        Versioning versioning;
+        try (InputStream in = Files.newInputStream(path)) {
+            versioning = new MetadataStaxReader().read(in, false).getVersioning();
+        }
+        Entry entry = new Entry(before.fileKey(), before.size(), before.lastModifiedTime(), versioning);
+        if (versioning != null && entry.matches(Files.readAttributes(path, BasicFileAttributes.class))) {
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entries.put(path, entry);
+        } else {
+            entries.remove(path);
+        }
+        return versioning;
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), entries.size());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * The statistics of the cache.
+     *
+     * @param hits the number of metadata files which did not need to be read
+     * @param misses the number of metadata files which were read
+     * @param size the number of cached metadata files
+     */
+    public record Statistics(long hits, long misses, int size) {}
+
+    private record Entry(Object fileKey, long size, FileTime lastModified, Versioning versioning) {
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && lastModified.equals(attributes.lastModifiedTime())
+                    && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.maven.api.services.ChecksumAlgorithmService.ChecksumAlgorithm;
+import org.apache.maven.internal.impl.standalone.RepositorySystemSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class DefaultChecksumAlgorithmServiceTest {
+
+    @TempDir
+    Path directory;
+
+    DefaultChecksumAlgorithmService service =
+            new DefaultChecksumAlgorithmService(new RepositorySystemSupplier().getChecksumAlgorithmFactorySelector());
+
+    List<ChecksumAlgorithm> algorithms = List.copyOf(service.select(List.of("SHA-1", "MD5", "SHA-256")));
+
+    @Test
+    void testSameAsStream() throws Exception {
+        for (int size : new int[] {
+            0,
+            DefaultChecksumAlgorithmService.BUFFER_SIZE - 1,
+            DefaultChecksumAlgorithmService.BUFFER_SIZE + 1,
+            DefaultChecksumAlgorithmService.PARALLEL_THRESHOLD + 1
+        }) {
+            byte[] data = random(size);
+            Path file = Files.write(directory.resolve("file-" + size), data);
+            assertEquals(
+                    service.calculate(new ByteArrayInputStream(data), algorithms), service.calculate(file, algorithms));
+        }
+    }
+
+    @Test
+    void testFreshAfterRewrite() throws Exception {
+        Path file = Files.write(directory.resolve("file"), random(1000, 1));
+        Map<ChecksumAlgorithm, String> first = service.calculate(file, algorithms.subList(0, 1));
+        assertEquals(first, service.calculate(file, algorithms.subList(0, 1)));
+
+        // same size and last modified time, the checksums of the new content are computed
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        byte[] data = random(1000, 2);
+        Files.write(file, data);
+        Files.setLastModifiedTime(file, lastModified);
+        Map<ChecksumAlgorithm, String> all = service.calculate(file, algorithms);
+        assertEquals(service.calculate(new ByteArrayInputStream(data), algorithms), all);
+        assertNotEquals(first.get(algorithms.get(0)), all.get(algorithms.get(0)));
+        assertEquals(algorithms, List.copyOf(all.keySet()));
+
+        Files.write(file, random(1001, 3));
+        assertNotEquals(first, service.calculate(file, algorithms.subList(0, 1)));
+    }
+
+    @Test
+    void testBatch() throws Exception {
+        Path a = Files.write(directory.resolve("a"), random(100));
+        Path b = Files.write(directory.resolve("b"), random(DefaultChecksumAlgorithmService.BUFFER_SIZE));
+        Map<Path, Map<ChecksumAlgorithm, String>> checksums = service.calculate(List.of(b, a), algorithms);
+        assertEquals(List.of(b, a), List.copyOf(checksums.keySet()));
+        assertEquals(service.calculate(Files.newInputStream(a), algorithms), checksums.get(a));
+        assertEquals(service.calculate(Files.newInputStream(b), algorithms), checksums.get(b));
+    }
+
+    private static byte[] random(int size) {
+        return random(size, size);
+    }
+
+    private static byte[] random(int size, long seed) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.module.ModuleDescriptor;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+
+import org.apache.maven.api.JavaPathType;
+import org.apache.maven.api.PathType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathModularizationCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testModuleInfoIsCachedUntilModified() throws IOException {
+        PathModularizationCache cache = new PathModularizationCache();
+        Path jar = directory.resolve("lib.jar");
+        writeJar(jar, "org.example.lib");
+
+        PathModularization info = cache.getModuleInfo(jar);
+        assertTrue(info.containsModule("org.example.lib"));
+        assertSame(info, cache.getModuleInfo(jar));
+
+        writeJar(jar, null);
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 10_000));
+
+        PathModularization updated = cache.getModuleInfo(jar);
+        assertNotSame(info, updated);
+        assertFalse(updated.containsModule("org.example.lib"));
+    }
+
+    @Test
+    void testOutputDirectoryIsReadAgainWhenCompiled() throws IOException {
+        PathModularizationCache cache = new PathModularizationCache();
+        Path classes = Files.createDirectory(directory.resolve("classes"));
+        Set<PathType> types = Set.of(JavaPathType.CLASSES, JavaPathType.MODULES);
+
+        assertEquals(Optional.of(JavaPathType.CLASSES), cache.selectPathType(types, t -> true, classes));
+
+        Files.write(classes.resolve("module-info.class"), new byte[0]);
+        assertEquals(Optional.of(JavaPathType.MODULES), cache.selectPathType(types, t -> true, classes));
+    }
+
+    @Test
+    void testModuleHierarchyIsReadAgainWhenCompiled() throws IOException {
+        PathModularizationCache cache = new PathModularizationCache();
+        Path modules = Files.createDirectories(directory.resolve("classes").resolve("module-info.class"));
+        Path descriptor = Files.createDirectory(modules.resolve("org.example")).resolve("module-info.class");
+        writeDescriptor(descriptor, Object.class.getModule());
+
+        PathModularization info = cache.getModuleInfo(modules.getParent());
+        assertEquals(Set.of("java.base"), moduleNames(info));
+        assertSame(info, cache.getModuleInfo(modules.getParent()));
+
+        // overwriting the descriptor changes neither the size nor the modification time of its parent directories
+        writeDescriptor(descriptor, java.util.logging.Logger.class.getModule());
+        Files.setLastModifiedTime(
+                descriptor, FileTime.fromMillis(Files.getLastModifiedTime(descriptor).toMillis() + 10_000));
+
+        PathModularization updated = cache.getModuleInfo(modules.getParent());
+        assertNotSame(info, updated);
+        assertEquals(Set.of("java.logging"), moduleNames(updated));
+    }
+
+    private static Set<String> moduleNames(PathModularization info) {
+        return info.descriptors.values().stream()
+                .map(descriptor -> ((ModuleDescriptor) descriptor).name())
+                .collect(Collectors.toSet());
+    }
+
+    private static void writeDescriptor(Path file, Module module) throws IOException {
+        try (InputStream in = module.getResourceAsStream("module-info.class")) {
+            Files.write(file, in.readAllBytes());
+        }
+    }
+
+    private static void writeJar(Path jar, String automaticModuleName) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (automaticModuleName != null) {
+            manifest.getMainAttributes().put(new Attributes.Name("Automatic-Module-Name"), automaticModuleName);
+        }
+        try (OutputStream out = Files.newOutputStream(jar);
+                JarOutputStream jos = new JarOutputStream(out, manifest)) {
+            jos.flush();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.api.SessionData;
+import org.apache.maven.api.services.ModelBuilder;
+import org.apache.maven.api.services.ModelBuilderRequest;
+import org.apache.maven.api.services.ModelBuilderResult;
+import org.apache.maven.api.services.ModelSource;
+import org.apache.maven.api.services.model.ModelCache;
+import org.apache.maven.internal.impl.standalone.ApiRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of building the effective models of a synthetic reactor with {@link DefaultModelBuilder},
+ * covering the file model reading, inheritance, interpolation, profile activation, dependency management
+ * import and validation.  The reactor and the imported BOM are generated in a temporary directory, and
+ * no remote repository is used.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5, time = 10)
+@State(Scope.Benchmark)
+public class DefaultModelBuilderPerfTest {
+
+    @Param({"10", "100", "1000"})
+    int modules;
+
+    Path directory;
+    Session session;
+    ModelBuilder builder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("model-builder-perf");
+        Path repository = directory.resolve("repository");
+        Path bom = repository.resolve("org/apache/maven/perf/bom/1.0/bom-1.0.pom");
+        Files.createDirectories(bom.getParent());
+        Files.writeString(bom, bom());
+        Path root = directory.resolve("reactor");
+        Files.createDirectories(root.resolve(".mvn"));
+        Files.writeString(root.resolve("pom.xml"), root(modules));
+        for (int i = 0; i < modules; i++) {
+            Path module = root.resolve("module-" + i);
+            Files.createDirectories(module);
+            Files.writeString(module.resolve("pom.xml"), module(i));
+            if (i % 2 == 0) {
+                Files.createDirectories(module.resolve("src/main/java"));
+            }
+        }
+
+        Session s = ApiRunner.createSession();
+        session = s.withLocalRepository(s.createLocalRepository(repository)).withRemoteRepositories(List.of());
+        builder = session.getService(ModelBuilder.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public ModelBuilderResult buildReactor() {
+        // start from a cold model cache, as a new build would
+        session.getData().set(SessionData.key(ModelCache.class), null);
+        ModelBuilderResult result = builder.newSession()
+                .build(ModelBuilderRequest.builder()
+                        .session(session)
+                        .source(ModelSource.fromPath(directory.resolve("reactor/pom.xml")))
+                        .requestType(ModelBuilderRequest.RequestType.BUILD_PROJECT)
+                        .recursive(true)
+                        .build());
+        if (result.getChildren().size() != modules) {
+            throw new IllegalStateException("Expected " + modules + " modules, got " + result.getChildren());
+        }
+        return result;
+    }
+
+    private static String bom() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n")
+                .append("  <groupId>org.apache.maven.perf</groupId>\n")
+                .append("  <artifactId>bom</artifactId>\n")
+                .append("  <version>1.0</version>\n")
+                .append("  <packaging>pom</packaging>\n")
+                .append("  <dependencyManagement>\n")
+                .append("    <dependencies>\n");
+        for (int i = 0; i < 50; i++) {
+            sb.append("      <dependency>\n")
+                    .append("        <groupId>org.apache.maven.perf.lib</groupId>\n")
+                    .append("        <artifactId>lib-")
+                    .append(i)
+                    .append("</artifactId>\n")
+                    .append("        <version>1.")
+                    .append(i)
+                    .append("</version>\n")
+                    .append("      </dependency>\n");
+        }
+        return sb.append("    </dependencies>\n")
+                .append("  </dependencyManagement>\n")
+                .append("</project>\n")
+                .toString();
+    }
+
+    private static String root(int modules) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n")
+                .append("  <groupId>org.apache.maven.perf</groupId>\n")
+                .append("  <artifactId>reactor</artifactId>\n")
+                .append("  <version>1.0-SNAPSHOT</version>\n")
+                .append("  <packaging>pom</packaging>\n")
+                .append("  <properties>\n")
+                .append("    <lib.group>org.apache.maven.perf.lib</lib.group>\n")
+                .append("    <compiler.release>17</compiler.release>\n")
+                .append("  </properties>\n")
+                .append("  <modules>\n");
+        for (int i = 0; i < modules; i++) {
+            sb.append("    <module>module-").append(i).append("</module>\n");
+        }
+        return sb.append("  </modules>\n")
+                .append("  <dependencyManagement>\n")
+                .append("    <dependencies>\n")
+                .append("      <dependency>\n")
+                .append("        <groupId>org.apache.maven.perf</groupId>\n")
+                .append("        <artifactId>bom</artifactId>\n")
+                .append("        <version>1.0</version>\n")
+                .append("        <type>pom</type>\n")
+                .append("        <scope>import</scope>\n")
+                .append("      </dependency>\n")
+                .append("    </dependencies>\n")
+                .append("  </dependencyManagement>\n")
+                .append("  <build>\n")
+                .append("    <pluginManagement>\n")
+                .append("      <plugins>\n")
+                .append("        <plugin>\n")
+                .append("          <artifactId>maven-compiler-plugin</artifactId>\n")
+                .append("          <version>3.13.0</version>\n")
+                .append("          <configuration>\n")
+                .append("            <release>${compiler.release}</release>\n")
+                .append("            <compilerArgs><arg>-Xlint:all</arg></compilerArgs>\n")
+                .append("          </configuration>\n")
+                .append("        </plugin>\n")
+                .append("      </plugins>\n")
+                .append("    </pluginManagement>\n")
+                .append("  </build>\n")
+                .append("  <profiles>\n")
+                .append("    <profile>\n")
+                .append("      <id>sources</id>\n")
+                .append(
+                        "      <activation><file><exists>${project.basedir}/src/main/java</exists></file></activation>\n")
+                .append("      <build>\n")
+                .append("        <plugins>\n")
+                .append("          <plugin>\n")
+                .append("            <artifactId>maven-compiler-plugin</artifactId>\n")
+                .append("            <configuration><parameters>true</parameters></configuration>\n")
+                .append("          </plugin>\n")
+                .append("        </plugins>\n")
+                .append("      </build>\n")
+                .append("    </profile>\n")
+                .append("    <profile>\n")
+                .append("      <id>default</id>\n")
+                .append("      <activation><property><name>!skipDefault</name></property></activation>\n")
+                .append("      <properties><default.active>true</default.active></properties>\n")
+                .append("    </profile>\n")
+                .append("  </profiles>\n")
+                .append("</project>\n")
+                .toString();
+    }
+
+    private static String module(int index) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n")
+                .append("  <parent>\n")
+                .append("    <groupId>org.apache.maven.perf</groupId>\n")
+                .append("    <artifactId>reactor</artifactId>\n")
+                .append("    <version>1.0-SNAPSHOT</version>\n")
+                .append("  </parent>\n")
+                .append("  <artifactId>module-")
+                .append(index)
+                .append("</artifactId>\n")
+                .append("  <name>${project.artifactId} (${project.version})</name>\n")
+                .append("  <dependencies>\n");
+        if (index > 0) {
+            sb.append("    <dependency>\n")
+                    .append("      <groupId>${project.groupId}</groupId>\n")
+                    .append("      <artifactId>module-")
+                    .append(index - 1)
+                    .append("</artifactId>\n")
+                    .append("      <version>${project.version}</version>\n")
+                    .append("    </dependency>\n");
+        }
+        for (int i = 0; i < 5; i++) {
+            sb.append("    <dependency>\n")
+                    .append("      <groupId>${lib.group}</groupId>\n")
+                    .append("      <artifactId>lib-")
+                    .append((index + i) % 50)
+                    .append("</artifactId>\n")
+                    .append("    </dependency>\n");
+        }
+        return sb.append("  </dependencies>\n").append("</project>\n").toString();
+    }
+
+    /**
+     * <p>main.</p>
+     *
+     * @param args a {@link String} object.
+     * @throws org.openjdk.jmh.runner.RunnerException if any.
+     */
+    public static void main(String... args) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(DefaultModelBuilderPerfTest.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.maven.api.Constants;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DefaultModelCacheTest {
+
+    @Test
+    void testUnbounded() {
+        DefaultModelCache cache = new DefaultModelCache();
+        AtomicInteger computed = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            for (int v = 0; v < 100; v++) {
+                cache.computeIfAbsent("g", "a", String.valueOf(v), "import", computed::incrementAndGet);
+            }
+        }
+        assertEquals(100, computed.get());
+
+        DefaultModelCache.Statistics stats = cache.statistics().get("import");
+        assertEquals(200, stats.hits());
+        assertEquals(100, stats.misses());
+        assertEquals(0, stats.evictions());
+    }
+
+    @Test
+    void testMaxEntries() {
+        DefaultModelCache cache = new DefaultModelCache(new DefaultModelCache.Policy(2, Map.of(), false, false));
+        AtomicInteger computed = new AtomicInteger();
+        cache.computeIfAbsent("g", "a", "1", "import", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "2", "import", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "1", "import", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "3", "import", computed::incrementAndGet);
+        assertEquals(3, computed.get());
+
+        // 2 was the least recently used entry
+        cache.computeIfAbsent("g", "a", "1", "import", computed::incrementAndGet);
+        assertEquals(3, computed.get());
+        cache.computeIfAbsent("g", "a", "2", "import", computed::incrementAndGet);
+        assertEquals(4, computed.get());
+        assertEquals(2, cache.statistics().get("import").evictions());
+    }
+
+    @Test
+    void testTagMaxEntries() {
+        DefaultModelCache cache =
+                new DefaultModelCache(new DefaultModelCache.Policy(0, Map.of("raw", 1), false, false));
+        AtomicInteger computed = new AtomicInteger();
+        cache.computeIfAbsent("g", "a", "1", "import", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "2", "import", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "1", "raw", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "2", "raw", computed::incrementAndGet);
+        assertEquals(4, computed.get());
+
+        cache.computeIfAbsent("g", "a", "1", "import", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "2", "import", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "2", "raw", computed::incrementAndGet);
+        assertEquals(4, computed.get());
+        cache.computeIfAbsent("g", "a", "1", "raw", computed::incrementAndGet);
+        assertEquals(5, computed.get());
+        assertEquals(0, cache.statistics().get("import").evictions());
+        assertEquals(2, cache.statistics().get("raw").evictions());
+    }
+
+    @Test
+    void testSoftValues() {
+        DefaultModelCache cache = new DefaultModelCache(new DefaultModelCache.Policy(0, Map.of(), true, false));
+        AtomicInteger computed = new AtomicInteger();
+        cache.computeIfAbsent("g", "a", "1", "import", computed::incrementAndGet);
+        cache.computeIfAbsent("g", "a", "1", "import", computed::incrementAndGet);
+        assertEquals(1, computed.get());
+        assertEquals(1, cache.statistics().get("import").hits());
+    }
+
+    @Test
+    void testNullValueIsComputedAgain() {
+        for (DefaultModelCache cache : new DefaultModelCache[] {
+            new DefaultModelCache(), new DefaultModelCache(new DefaultModelCache.Policy(10, Map.of(), true, false))
+        }) {
+            AtomicInteger first = new AtomicInteger();
+            AtomicInteger second = new AtomicInteger();
+            assertNull(cache.computeIfAbsent("g", "a", "1", "import", nullSupplier(first)));
+            assertNull(cache.computeIfAbsent("g", "a", "1", "import", nullSupplier(second)));
+            assertEquals(1, first.get());
+            assertEquals(1, second.get());
+        }
+
+        AtomicInteger computed = new AtomicInteger();
+        DefaultModelCache.CachingSupplier<Object> supplier =
+                new DefaultModelCache.CachingSupplier<>(nullSupplier(computed));
+        assertNull(supplier.get());
+        assertNull(supplier.get());
+        assertEquals(2, computed.get());
+    }
+
+    private static Supplier<Object> nullSupplier(AtomicInteger computed) {
+        return () -> {
+            computed.incrementAndGet();
+            return null;
+        };
+    }
+
+    @Test
+    void testPolicy() {
+        DefaultModelCache.Policy policy = new DefaultModelCacheFactory()
+                .policy(Map.of(
+                        Constants.MAVEN_MODEL_CACHE_MAX_ENTRIES, "1000",
+                        Constants.MAVEN_MODEL_CACHE_TAG_MAX_ENTRIES, "raw=500, parent = 20,invalid",
+                        Constants.MAVEN_MODEL_CACHE_SOFT_VALUES, "true"));
+        assertEquals(1000, policy.maxEntries());
+        assertEquals(Map.of("raw", 500, "parent", 20), policy.tagMaxEntries());
+        assertTrue(policy.softValues());
+        assertFalse(policy.stats());
+        assertFalse(new DefaultModelCacheFactory().policy(Map.of()).isBounded());
+    }
+}
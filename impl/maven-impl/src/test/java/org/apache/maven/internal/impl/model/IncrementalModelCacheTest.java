@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.api.Session;
+import org.apache.maven.api.SessionData;
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.ModelBuilder;
+import org.apache.maven.api.services.ModelBuilderRequest;
+import org.apache.maven.api.services.ModelBuilderResult;
+import org.apache.maven.api.services.ModelSource;
+import org.apache.maven.api.services.model.ModelCache;
+import org.apache.maven.internal.impl.standalone.ApiRunner;
+import org.apache.maven.model.v4.MavenStaxWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalModelCacheTest {
+
+    @TempDir
+    Path root;
+
+    Session session;
+    ModelBuilder builder;
+    AtomicInteger injected = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws Exception {
+        Files.createDirectories(root.resolve(".mvn"));
+        Files.writeString(
+                root.resolve("pom.xml"),
+                """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>org.apache.maven.its</groupId>
+                  <artifactId>root</artifactId>
+                  <version>1.0-SNAPSHOT</version>
+                  <packaging>pom</packaging>
+                  <modules>
+                    <module>a</module>
+                    <module>b</module>
+                  </modules>
+                  <profiles>
+                    <profile>
+                      <id>sources</id>
+                      <activation><file><exists>${project.basedir}/src</exists></file></activation>
+                      <properties><sources>true</sources></properties>
+                    </profile>
+                  </profiles>
+                </project>
+                """);
+        writeModule("a", "");
+        writeModule(
+                "b",
+                "<dependencies><dependency><groupId>org.apache.maven.its</groupId>"
+                        + "<artifactId>a</artifactId><version>1.0-SNAPSHOT</version></dependency></dependencies>");
+
+        Session s = ApiRunner.createSession();
+        session = s.withLocalRepository(s.createLocalRepository(root.resolve("repository")))
+                .withRemoteRepositories(List.of());
+        builder = session.getService(ModelBuilder.class);
+    }
+
+    @Test
+    void testUnchangedModelsReused() {
+        Map<String, Model> first = build(true);
+        injected.set(0);
+        Map<String, Model> second = build(true);
+        assertEquals(3, second.size());
+        // the lifecycle bindings injector is still called for the reused models
+        assertEquals(3, injected.get());
+        assertSame(first.get("root"), second.get("root"));
+        assertSame(first.get("a"), second.get("a"));
+        assertSame(first.get("b"), second.get("b"));
+
+        // the incremental mode is opt-in
+        Map<String, Model> third = build(false);
+        assertNotSame(second.get("a"), third.get("a"));
+    }
+
+    @Test
+    void testChangedPomRebuilt() throws Exception {
+        Map<String, Model> first = build(true);
+        writeModule("b", "<properties><changed>true</changed></properties>");
+        Map<String, Model> second = build(true);
+        assertSame(first.get("root"), second.get("root"));
+        assertSame(first.get("a"), second.get("a"));
+        assertNotSame(first.get("b"), second.get("b"));
+        assertEquals("true", second.get("b").getProperties().get("changed"));
+    }
+
+    @Test
+    void testChangedParentRebuildsChildren() throws Exception {
+        Map<String, Model> first = build(true);
+        Files.writeString(
+                root.resolve("pom.xml"),
+                Files.readString(root.resolve("pom.xml"))
+                        .replace("<packaging>pom</packaging>", "<packaging>pom</packaging><name>Root</name>"));
+        Map<String, Model> second = build(true);
+        assertNotSame(first.get("root"), second.get("root"));
+        assertNotSame(first.get("a"), second.get("a"));
+        assertNotSame(first.get("b"), second.get("b"));
+    }
+
+    @Test
+    void testProfileActivationChangeRebuilds() throws Exception {
+        Map<String, Model> first = build(true);
+        assertNull(first.get("a").getProperties().get("sources"));
+        Files.createDirectories(root.resolve("a/src"));
+        Map<String, Model> second = build(true);
+        assertEquals("true", second.get("a").getProperties().get("sources"));
+        assertSame(first.get("b"), second.get("b"));
+    }
+
+    @Test
+    void testChangedPropertiesRebuild() {
+        Map<String, Model> first = build(true);
+        Map<String, Model> second = build(true, Map.of("foo", "bar"));
+        assertNotSame(first.get("a"), second.get("a"));
+    }
+
+    @Test
+    void testPersistentCache() throws Exception {
+        Map<String, Model> models = build(true, Map.of(Constants.MAVEN_MODEL_BUILDER_PERSISTENT_CACHE, "true"));
+        Path file = root.resolve("target/maven-model-cache.bin");
+        assertTrue(Files.isRegularFile(file));
+
+        IncrementalModelCache cache = new IncrementalModelCache();
+        cache.load(file);
+        assertEquals(3, cache.size());
+        Model expected = models.get("b");
+        Model actual = cache.get(root.resolve("b/pom.xml")).effectiveModel();
+        assertEquals(toXml(expected), toXml(actual));
+        assertEquals(expected.getPomFile(), actual.getPomFile());
+        InputLocation location = actual.getDependencies().get(0).getLocation("artifactId");
+        assertEquals(
+                expected.getDependencies().get(0).getLocation("artifactId").getLineNumber(), location.getLineNumber());
+        assertEquals(expected.getDependencies().get(0).getLocation("artifactId").getSource(), location.getSource());
+        // objects shared by the stored models are still shared
+        assertSame(
+                cache.get(root.resolve("b/pom.xml")).parentModel(),
+                cache.get(root.resolve("a/pom.xml")).parentModel());
+    }
+
+    @Test
+    void testCorruptedPersistentCache() throws Exception {
+        Path file = Files.createDirectories(root.resolve("target")).resolve("maven-model-cache.bin");
+        Files.write(file, new byte[] {'M', 'V', 'N', 'M', 0, 0});
+        IncrementalModelCache cache = new IncrementalModelCache();
+        assertThrows(IOException.class, () -> cache.load(file));
+        // the build ignores it and replaces it, and the file is loaded again once valid
+        build(true, Map.of(Constants.MAVEN_MODEL_BUILDER_PERSISTENT_CACHE, "true"));
+        cache.load(file);
+        assertEquals(3, cache.size());
+
+        // a file written with another model is rejected before being parsed
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file));
+        header.putInt(8, header.getInt(8) + 1);
+        Files.write(file, header.array());
+        assertThrows(IOException.class, () -> new IncrementalModelCache().load(file));
+    }
+
+    @Test
+    void testLeastRecentlyBuiltRootsEvicted() {
+        IncrementalModelCache cache = new IncrementalModelCache();
+        for (int i = 0; i <= IncrementalModelCache.MAX_ROOTS; i++) {
+            Path pom = root.resolve("root" + i).resolve("pom.xml");
+            cache.put(
+                    pom,
+                    new IncrementalModelCache.Entry(
+                            "digest", List.of(), null, null, null, null, null, null, List.of()));
+            cache.retain(pom.getParent(), List.of(pom));
+            // the first root is built again, so it is the most recently built one
+            if (i == 1) {
+                cache.retain(root.resolve("root0"), List.of(root.resolve("root0/pom.xml")));
+            }
+        }
+        assertEquals(IncrementalModelCache.MAX_ROOTS, cache.size());
+        assertNull(cache.get(root.resolve("root1/pom.xml")));
+        assertNotNull(cache.get(root.resolve("root0/pom.xml")));
+    }
+
+    private static String toXml(Model model) throws Exception {
+        StringWriter writer = new StringWriter();
+        new MavenStaxWriter().write(writer, model);
+        return writer.toString();
+    }
+
+    private Map<String, Model> build(boolean incremental) {
+        return build(incremental, Map.of());
+    }
+
+    private Map<String, Model> build(boolean incremental, Map<String, String> properties) {
+        // start from a new model cache, as a new build would
+        session.getData().set(SessionData.key(ModelCache.class), null);
+        Map<String, String> userProperties = new HashMap<>(properties);
+        userProperties.put(Constants.MAVEN_MODEL_BUILDER_INCREMENTAL, Boolean.toString(incremental));
+        ModelBuilderResult result = builder.newSession()
+                .build(ModelBuilderRequest.builder()
+                        .session(session)
+                        .source(ModelSource.fromPath(root.resolve("pom.xml")))
+                        .requestType(ModelBuilderRequest.RequestType.BUILD_PROJECT)
+                        .userProperties(userProperties)
+                        .lifecycleBindingsInjector((m, r, p) -> {
+                            injected.incrementAndGet();
+                            return m;
+                        })
+                        .recursive(true)
+                        .build());
+        Map<String, Model> models = new HashMap<>();
+        models.put("root", result.getEffectiveModel());
+        for (ModelBuilderResult child : result.getChildren()) {
+            models.put(child.getEffectiveModel().getArtifactId(), child.getEffectiveModel());
+        }
+        return models;
+    }
+
+    private void writeModule(String name, String content) throws Exception {
+        Files.createDirectories(root.resolve(name));
+        Files.writeString(
+                root.resolve(name).resolve("pom.xml"),
+                """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                  <modelVersion>4.0.0</modelVersion>
+                  <parent>
+                    <groupId>org.apache.maven.its</groupId>
+                    <artifactId>root</artifactId>
+                    <version>1.0-SNAPSHOT</version>
+                  </parent>
+                  <artifactId>%s</artifactId>
+                  %s
+                </project>
+                """
+                        .formatted(name, content));
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.maven.api.Constants;
+import org.apache.maven.api.Session;
+import org.apache.maven.api.services.Source;
+import org.apache.maven.api.services.model.ModelCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResidentModelCacheTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void testFactory() {
+        DefaultModelCacheFactory factory = new DefaultModelCacheFactory();
+        ModelCache cache = factory.newInstance(session(Map.of()));
+        assertEquals(DefaultModelCache.class, cache.getClass());
+        cache = factory.newInstance(session(Map.of(Constants.MAVEN_MODEL_CACHE_RESIDENT_SIZE, "0")));
+        assertEquals(DefaultModelCache.class, cache.getClass());
+        cache = factory.newInstance(session(Map.of(Constants.MAVEN_MODEL_CACHE_RESIDENT_SIZE, "100")));
+        assertInstanceOf(ResidentModelCache.class, cache);
+
+        // resident invokers share the cache by default, without setting the user property
+        factory.setDefaultResidentSize(100);
+        assertInstanceOf(ResidentModelCache.class, factory.newInstance(session(Map.of())));
+        cache = factory.newInstance(session(Map.of(Constants.MAVEN_MODEL_CACHE_RESIDENT_SIZE, "0")));
+        assertEquals(DefaultModelCache.class, cache.getClass());
+    }
+
+    @Test
+    void testFileModelsSharedUntilModified() throws Exception {
+        Path pom = Files.writeString(root.resolve("pom.xml"), "<project/>");
+        ResidentModelCache.Store store = new ResidentModelCache.Store(10);
+        AtomicInteger computed = new AtomicInteger();
+
+        new ResidentModelCache(store, session(Map.of()))
+                .computeIfAbsent(Source.fromPath(pom), "file", computed::incrementAndGet);
+        new ResidentModelCache(store, session(Map.of()))
+                .computeIfAbsent(Source.fromPath(pom), "file", computed::incrementAndGet);
+        assertEquals(1, computed.get());
+
+        // raw models of the reactor are not shared
+        new ResidentModelCache(store, session(Map.of()))
+                .computeIfAbsent(Source.fromPath(pom), "raw", computed::incrementAndGet);
+        new ResidentModelCache(store, session(Map.of()))
+                .computeIfAbsent(Source.fromPath(pom), "raw", computed::incrementAndGet);
+        assertEquals(3, computed.get());
+
+        Files.writeString(pom, "<project></project>");
+        Files.setLastModifiedTime(pom, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        new ResidentModelCache(store, session(Map.of()))
+                .computeIfAbsent(Source.fromPath(pom), "file", computed::incrementAndGet);
+        assertEquals(4, computed.get());
+
+        // a different context does not reuse entries
+        new ResidentModelCache(store, session(Map.of("revision", "1.0")))
+                .computeIfAbsent(Source.fromPath(pom), "file", computed::incrementAndGet);
+        assertEquals(5, computed.get());
+    }
+
+    @Test
+    void testGavModels() {
+        ResidentModelCache.Store store = new ResidentModelCache.Store(10);
+        AtomicInteger computed = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            ResidentModelCache cache = new ResidentModelCache(store, session(Map.of()));
+            cache.computeIfAbsent("g", "a", "1.0", "import", () -> shareable(computed));
+            cache.computeIfAbsent("g", "a", "1.0-SNAPSHOT", "import", () -> shareable(computed));
+            cache.computeIfAbsent("g", "a", "1.0-SNAPSHOT", "import", () -> shareable(computed));
+        }
+        assertEquals(3, computed.get());
+    }
+
+    @Test
+    void testReactorGavModelsNotShared() throws Exception {
+        Path bom = Files.writeString(root.resolve("pom.xml"), "1.0");
+        ResidentModelCache.Store store = new ResidentModelCache.Store(10);
+        Supplier<Value> data = () -> {
+            try {
+                // as the models of the reactor, the value is not shareable
+                return new Value(Files.readString(bom), false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        ResidentModelCache cache = new ResidentModelCache(store, session(Map.of()));
+        assertEquals("1.0", cache.computeIfAbsent("g", "bom", "1.0", "import", data).content());
+        assertEquals(0, store.size());
+
+        // the BOM of the reactor is edited between the builds
+        Files.writeString(bom, "2.0");
+        cache = new ResidentModelCache(store, session(Map.of()));
+        assertEquals("2.0", cache.computeIfAbsent("g", "bom", "1.0", "import", data).content());
+        // but the value is still cached for the duration of the session
+        Files.writeString(bom, "3.0");
+        assertEquals("2.0", cache.computeIfAbsent("g", "bom", "1.0", "import", data).content());
+    }
+
+    @Test
+    void testNullGavModelsNotShared() {
+        ResidentModelCache.Store store = new ResidentModelCache.Store(10);
+        AtomicInteger computed = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            ResidentModelCache cache = new ResidentModelCache(store, session(Map.of()));
+            assertNull(cache.computeIfAbsent("g", "a", "1.0", "import", () -> {
+                computed.incrementAndGet();
+                return null;
+            }));
+        }
+        assertEquals(2, computed.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testFailuresNotShared() {
+        ResidentModelCache.Store store = new ResidentModelCache.Store(10);
+        AtomicInteger computed = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            ResidentModelCache cache = new ResidentModelCache(store, session(Map.of()));
+            assertThrows(
+                    IllegalStateException.class,
+                    () -> cache.computeIfAbsent("g", "a", "1.0", "import", () -> {
+                        computed.incrementAndGet();
+                        throw new IllegalStateException();
+                    }));
+        }
+        assertEquals(2, computed.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testEviction() {
+        ResidentModelCache.Store store = new ResidentModelCache.Store(2);
+        AtomicInteger computed = new AtomicInteger();
+        Supplier<ResidentModelCache> cache = () -> new ResidentModelCache(store, session(Map.of()));
+        cache.get().computeIfAbsent("g", "a", "1", "import", () -> shareable(computed));
+        cache.get().computeIfAbsent("g", "a", "2", "import", () -> shareable(computed));
+        cache.get().computeIfAbsent("g", "a", "1", "import", () -> shareable(computed));
+        cache.get().computeIfAbsent("g", "a", "3", "import", () -> shareable(computed));
+        assertEquals(2, store.size());
+        assertEquals(3, computed.get());
+
+        // 2 was the least recently used entry
+        cache.get().computeIfAbsent("g", "a", "1", "import", () -> shareable(computed));
+        assertEquals(3, computed.get());
+        cache.get().computeIfAbsent("g", "a", "2", "import", () -> shareable(computed));
+        assertEquals(4, computed.get());
+    }
+
+    private static Value shareable(AtomicInteger computed) {
+        return new Value(String.valueOf(computed.incrementAndGet()), true);
+    }
+
+    record Value(String content, boolean shareable) implements ResidentModelCache.Shareable {}
+
+    private Session session(Map<String, String> userProperties) {
+        Session session = mock(Session.class);
+        when(session.getRootDirectory()).thenReturn(root);
+        when(session.getUserProperties()).thenReturn(userProperties);
+        when(session.getRemoteRepositories()).thenReturn(List.of());
+        return session;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model.reflection;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractorTest.Artifact;
+import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractorTest.Dependency;
+import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractorTest.Project;
+import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractorTest.Scm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the evaluation of plugin parameter like expressions with {@link ReflectionValueExtractor}, which
+ * tokenizes the expression and looks up the accessors on each call, and with {@link CompiledValueExtractor}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5, time = 10)
+@State(Scope.Benchmark)
+public class CompiledValueExtractorPerfTest {
+
+    @Param({"project.groupId", "project.scm.connection", "project.artifactMap(g0:a0:c0).version"})
+    String expression;
+
+    Project project;
+    CompiledValueExtractor compiled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Dependency dependency = new Dependency();
+        dependency.setArtifactId("dep");
+
+        project = new Project();
+        project.setGroupId("org.apache.maven");
+        project.setScm(new Scm());
+        project.getScm().setConnection("scm-connection");
+        project.addDependency(dependency);
+        project.addArtifact(new Artifact("g0", "a0", "v0", "e0", "c0"));
+
+        compiled = CompiledValueExtractor.compile(expression);
+    }
+
+    @Benchmark
+    public Object reflection() throws IntrospectionException {
+        return ReflectionValueExtractor.evaluate(expression, project);
+    }
+
+    @Benchmark
+    public Object compiled() throws IntrospectionException {
+        return compiled.evaluate(project);
+    }
+
+    /**
+     * <p>main.</p>
+     *
+     * @param args a {@link String} object.
+     * @throws org.openjdk.jmh.runner.RunnerException if any.
+     */
+    public static void main(String... args) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(CompiledValueExtractorPerfTest.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model.reflection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractorTest.Artifact;
+import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractorTest.Dependency;
+import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractorTest.Project;
+import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractorTest.Scm;
+import org.apache.maven.internal.impl.model.reflection.ReflectionValueExtractorTest.ValueHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@link CompiledValueExtractor} gives the same results as {@link ReflectionValueExtractor}.
+ */
+class CompiledValueExtractorTest {
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        Dependency dependency1 = new Dependency();
+        dependency1.setArtifactId("dep1");
+        Dependency dependency2 = new Dependency();
+        dependency2.setArtifactId("dep2");
+
+        project = new Project();
+        project.setModelVersion("4.0.0");
+        project.setGroupId("org.apache.maven");
+        project.setArtifactId("maven-core");
+        project.setScm(new Scm());
+        project.getScm().setConnection("scm-connection");
+        project.addDependency(dependency1);
+        project.addDependency(dependency2);
+        project.addArtifact(new Artifact("g0", "a0", "v0", "e0", "c0"));
+    }
+
+    @Test
+    void testSameResults() throws Exception {
+        for (String expression : List.of(
+                "project.modelVersion",
+                "project.groupId",
+                "project.scm.connection",
+                "project.dependencies",
+                "project.dependencies[1].artifactId",
+                "project.dependencies[10]",
+                "project.dependencies[-1]",
+                "project.dependencies[a]",
+                "project.dependenciesAsArray[0].artifactId",
+                "project.dependenciesAsArray[2]",
+                "project.dependenciesAsMap(dep2).artifactId",
+                "project.artifactMap(g0:a0:c0).version",
+                "project.foo",
+                "project.dependencies[0].foo",
+                "project.build.foo",
+                "project",
+                "project..groupId",
+                "project.dependencies[0",
+                "project.dependencies[0)",
+                "project.artifactMap(",
+                "project.artifactMap()",
+                "project.artifactMap(g0:a0:c0]",
+                "project.dependencies[0]artifactId",
+                "description",
+                "1project",
+                "")) {
+            assertSame(
+                    ReflectionValueExtractor.evaluate(expression, project),
+                    CompiledValueExtractor.compile(expression).evaluate(project),
+                    expression);
+        }
+    }
+
+    @Test
+    void testNestedStructures() throws Exception {
+        Map<Object, Object> map = new HashMap<>();
+        map.put("a.b", "a.b-value");
+        List<Object> list = new ArrayList<>();
+        list.add(map);
+        map.put("a", list);
+
+        ValueHolder holder = new ValueHolder(list);
+        assertEquals("a.b-value", CompiledValueExtractor.compile("h.value[0](a.b)").evaluate(holder));
+        assertSame(map, CompiledValueExtractor.compile("h.value[0](a)[0]").evaluate(holder));
+    }
+
+    @Test
+    void testOptionalIsUnwrapped() throws Exception {
+        assertEquals("value", CompiledValueExtractor.compile("h.value").evaluate(new ValueHolder(Optional.of("value"))));
+        assertNull(CompiledValueExtractor.compile("h.value").evaluate(new ValueHolder(Optional.empty())));
+    }
+
+    @Test
+    void testCompiledExpressionIsReusable() throws Exception {
+        CompiledValueExtractor extractor = CompiledValueExtractor.compile("h.value");
+        assertEquals("a", extractor.evaluate(new ValueHolder("a")));
+        assertEquals("b", extractor.evaluate(new ValueHolder("b")));
+        assertNull(extractor.evaluate(null));
+        // a different class with the same property
+        assertEquals("4.0.0", CompiledValueExtractor.compile("p.modelVersion").evaluate(project));
+        assertNull(CompiledValueExtractor.compile("p.value").evaluate(project));
+    }
+
+    @Test
+    void testIllegalTypes() {
+        ValueHolder holder = new ValueHolder("string");
+        IntrospectionException indexed = assertThrows(
+                IntrospectionException.class,
+                () -> CompiledValueExtractor.compile("h.value[1]").evaluate(holder));
+        assertEquals(
+                assertThrows(IntrospectionException.class, () -> ReflectionValueExtractor.evaluate("h.value[1]", holder))
+                        .getMessage(),
+                indexed.getMessage());
+        IntrospectionException mapped = assertThrows(
+                IntrospectionException.class,
+                () -> CompiledValueExtractor.compile("h.value(key)").evaluate(holder));
+        assertEquals(
+                assertThrows(
+                                IntrospectionException.class,
+                                () -> ReflectionValueExtractor.evaluate("h.value(key)", holder))
+                        .getMessage(),
+                mapped.getMessage());
+    }
+
+    @Test
+    void testAccessorFailure() {
+        ValueHolder holder = new ValueHolder(null) {
+            @Override
+            public Object getValue() {
+                throw new IllegalStateException("failure");
+            }
+        };
+        IntrospectionException e = assertThrows(
+                IntrospectionException.class, () -> CompiledValueExtractor.compile("h.value").evaluate(holder));
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+    }
+}
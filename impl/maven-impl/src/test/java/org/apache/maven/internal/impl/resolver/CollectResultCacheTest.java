@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.resolver;
+
+import java.util.List;
+
+import org.apache.maven.api.Constants;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CollectResultCacheTest {
+
+    DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(h -> false);
+
+    RepositorySystem system = mock(RepositorySystem.class);
+
+    @Test
+    void testSameDependenciesAreCollectedOnce() throws Exception {
+        when(system.collectDependencies(any(), any())).thenAnswer(invocation -> {
+            CollectRequest request = invocation.getArgument(1);
+            assertNull(request.getRootArtifact());
+            DefaultDependencyNode root = new DefaultDependencyNode((Artifact) null);
+            root.setChildren(List.of(new DefaultDependencyNode(dependency("lib"))));
+            return new CollectResult(request).setRoot(root);
+        });
+
+        CollectResult first = CollectResultCache.collectDependencies(system, session, request("a", "lib"));
+        CollectResult second = CollectResultCache.collectDependencies(system, session, request("b", "lib"));
+        verify(system, times(1)).collectDependencies(any(), any());
+
+        assertEquals("a", first.getRoot().getArtifact().getArtifactId());
+        assertEquals("b", second.getRoot().getArtifact().getArtifactId());
+        assertNotSame(first.getRoot().getChildren().get(0), second.getRoot().getChildren().get(0));
+        assertEquals(
+                first.getRoot().getChildren().get(0).getDependency(),
+                second.getRoot().getChildren().get(0).getDependency());
+
+        CollectResultCache.collectDependencies(system, session, request("c", "other"));
+        verify(system, times(2)).collectDependencies(any(), any());
+    }
+
+    @Test
+    void testProjectArtifactInGraphIsCollectedAgain() throws Exception {
+        when(system.collectDependencies(any(), any())).thenAnswer(invocation -> {
+            CollectRequest request = invocation.getArgument(1);
+            DefaultDependencyNode root = new DefaultDependencyNode(request.getRootArtifact());
+            root.setChildren(List.of(new DefaultDependencyNode(dependency("a"))));
+            return new CollectResult(request).setRoot(root);
+        });
+
+        CollectResultCache.collectDependencies(system, session, request("a", "a"));
+        verify(system, times(2)).collectDependencies(any(), any());
+    }
+
+    @Test
+    void testDisabled() throws Exception {
+        session.setConfigProperty(Constants.MAVEN_RESOLVER_COLLECT_CACHE, "false");
+        when(system.collectDependencies(any(), any())).thenAnswer(invocation -> {
+            CollectRequest request = invocation.getArgument(1);
+            return new CollectResult(request).setRoot(new DefaultDependencyNode(request.getRootArtifact()));
+        });
+
+        CollectResultCache.collectDependencies(system, session, request("a", "lib"));
+        CollectResultCache.collectDependencies(system, session, request("b", "lib"));
+        verify(system, times(2)).collectDependencies(any(), any());
+    }
+
+    @Test
+    void testCopyPreservesSharedNodesAndWinners() {
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("g:root:1"));
+        DefaultDependencyNode shared = new DefaultDependencyNode(dependency("shared"));
+        DefaultDependencyNode loser = new DefaultDependencyNode(dependency("shared"));
+        loser.setData(ConflictResolver.NODE_DATA_WINNER, shared);
+        DefaultDependencyNode a = new DefaultDependencyNode(dependency("a"));
+        a.setChildren(List.of(shared));
+        DefaultDependencyNode b = new DefaultDependencyNode(dependency("b"));
+        b.setChildren(List.of(shared, loser));
+        root.setChildren(List.of(a, b));
+
+        DependencyNode copy = CollectResultCache.copy(root);
+        DependencyNode sharedCopy = copy.getChildren().get(0).getChildren().get(0);
+        assertNotSame(shared, sharedCopy);
+        assertSame(sharedCopy, copy.getChildren().get(1).getChildren().get(0));
+        DependencyNode loserCopy = copy.getChildren().get(1).getChildren().get(1);
+        assertSame(sharedCopy, loserCopy.getData().get(ConflictResolver.NODE_DATA_WINNER));
+        assertSame(shared, loser.getData().get(ConflictResolver.NODE_DATA_WINNER));
+    }
+
+    private static CollectRequest request(String artifactId, String dependency) {
+        return new CollectRequest()
+                .setRootArtifact(new DefaultArtifact("g", artifactId, "jar", "1.0-SNAPSHOT"))
+                .setDependencies(List.of(dependency(dependency)))
+                .setRequestContext("project");
+    }
+
+    private static Dependency dependency(String artifactId) {
+        return new Dependency(new DefaultArtifact("g", artifactId, "jar", "1.0"), "compile");
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.resolver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.apache.maven.api.metadata.Versioning;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MetadataVersioningCacheTest {
+
+    @TempDir
+    Path directory;
+
+    MetadataVersioningCache cache = new MetadataVersioningCache();
+
+    @Test
+    void testCachedUntilModified() throws Exception {
+        Path file = write("maven-metadata-central.xml", "1.0", "1.1");
+        assertNull(cache.get(file));
+        Versioning versioning = cache.read(file);
+        assertEquals(List.of("1.0", "1.1"), versioning.getVersions());
+        assertSame(versioning, cache.get(file));
+        assertSame(versioning, cache.get(file));
+        assertEquals(new MetadataVersioningCache.Statistics(2, 1, 1), cache.getStatistics());
+
+        // replaced as the resolver does, with the same size and last modified time
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        Path temp = write("maven-metadata-central.xml.tmp", "1.0", "1.2");
+        Files.setLastModifiedTime(temp, lastModified);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        assertNull(cache.get(file));
+        assertEquals(List.of("1.0", "1.2"), cache.read(file).getVersions());
+    }
+
+    @Test
+    void testMissingFile() throws Exception {
+        Path file = write("maven-metadata-central.xml", "1.0");
+        cache.read(file);
+        Files.delete(file);
+        assertNull(cache.get(file));
+        assertNull(cache.read(file));
+        assertEquals(0, cache.getStatistics().size());
+    }
+
+    private Path write(String name, String... versions) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<metadata><groupId>org.apache.maven.its</groupId><artifactId>a</artifactId><versioning>")
+                .append("<versions>");
+        for (String version : versions) {
+            sb.append("<version>").append(version).append("</version>");
+        }
+        sb.append("</versions></versioning></metadata>");
+        return Files.writeString(directory.resolve(name), sb.toString());
+    }
+}
@@ -54,6 +54,7 @@
 import org.apache.maven.internal.impl.resolver.DefaultVersionRangeResolver;
 import org.apache.maven.internal.impl.resolver.DefaultVersionResolver;
 import org.apache.maven.internal.impl.resolver.MavenArtifactRelocationSource;
+import org.apache.maven.internal.impl.resolver.MetadataVersioningCache;
 import org.apache.maven.internal.impl.resolver.PluginsMetadataGeneratorFactory;
 import org.apache.maven.internal.impl.resolver.SnapshotMetadataGeneratorFactory;
 import org.apache.maven.internal.impl.resolver.VersionsMetadataGeneratorFactory;
@@ -994,6 +995,20 @@ protected ArtifactDescriptorReader createArtifactDescriptorReader() {
                 getMavenArtifactRelocationSources());
     }
 
+    private MetadataVersioningCache metadataVersioningCache;
+
+    public final MetadataVersioningCache getMetadataVersioningCache() {
+        checkClosed();
+        if (metadataVersioningCache == null) {
+            metadataVersioningCache = createMetadataVersioningCache();
+        }
+        return metadataVersioningCache;
+    }
+
+    protected MetadataVersioningCache createMetadataVersioningCache() {
+        return new MetadataVersioningCache();
+    }
+
     private VersionResolver versionResolver;
 
     public final VersionResolver getVersionResolver() {
@@ -1007,7 +1022,10 @@ public final VersionResolver getVersionResolver() {
     protected VersionResolver createVersionResolver() {
         // from maven-resolver-provider
         return new DefaultVersionResolver(
-                getMetadataResolver(), getSyncContextFactory(), getRepositoryEventDispatcher());
+                getMetadataResolver(),
+                getSyncContextFactory(),
+                getRepositoryEventDispatcher(),
+                getMetadataVersioningCache());
     }
 
     private VersionRangeResolver versionRangeResolver;
@@ -1023,7 +1041,11 @@ public final VersionRangeResolver getVersionRangeResolver() {
     protected VersionRangeResolver createVersionRangeResolver() {
         // from maven-resolver-provider
         return new DefaultVersionRangeResolver(
-                getMetadataResolver(), getSyncContextFactory(), getRepositoryEventDispatcher(), getVersionScheme());
+                getMetadataResolver(),
+                getSyncContextFactory(),
+                getRepositoryEventDispatcher(),
+                getVersionScheme(),
+                getMetadataVersioningCache());
     }
 
     private ModelBuilder modelBuilder;
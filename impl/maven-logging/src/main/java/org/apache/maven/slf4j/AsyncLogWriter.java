@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.slf4j;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.slf4j.helpers.Reporter;
+
+/**
+ * Writes the log messages of {@link MavenBaseLogger} from a single background thread, so that the threads
+ * of a parallel build do not wait for each other to print and flush their messages.
+ * <p>
+ * The messages are formatted by the logging threads, then added to a bounded non-blocking queue.  The writer thread
+ * drains the queue and prints the consecutive messages for the same stream with a single write and flush.  When the
+ * queue is full, the logging threads wait for the writer to catch up, so that the memory is bounded and the messages
+ * of each thread stay in order.  The messages with an exception, which usually report a failure, are flushed before
+ * returning to the caller, and the pending messages are flushed when the JVM exits.
+ * <p>
+ * The messages forwarded to a log sink, such as the build event listener of the Maven CLI, are written to their
+ * final output by {@link #write(Consumer, String)}, once the sink has associated them with their project.
+ * <p>
+ * If the writer is closed or its thread died, the write methods return {@code false} and the caller is expected
+ * to write the message itself.
+ *
+ * @since 4.0.0
+ */
+final class AsyncLogWriter {
+
+    /**
+     * Maximum number of messages written at once, so that the queue space is released regularly.
+     */
+    private static final int MAX_BATCH = 1024;
+
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of messages in the queue, used to bound it as {@link ConcurrentLinkedQueue#size()} is not constant.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final int capacity;
+
+    /**
+     * The number of messages added to the queue since the creation of this writer.
+     */
+    private final AtomicLong submitted = new AtomicLong();
+
+    /**
+     * The number of messages written since the creation of this writer, only updated by the writer thread.
+     */
+    private volatile long written;
+
+    /**
+     * Whether the writer thread is waiting for messages, and needs to be woken up.
+     */
+    private volatile boolean parked;
+
+    private volatile boolean closed;
+
+    private final Thread thread;
+
+    private final Thread shutdownHook;
+
+    AsyncLogWriter(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.thread = new Thread(this::run, "maven-log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        this.shutdownHook = new Thread(this::close, "maven-log-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Adds the given message to the queue, waiting if the queue is full.
+     *
+     * @param logger the logger which formatted the message, used to print the exception
+     * @param stream the stream where to print the message
+     * @param message the formatted message
+     * @param t the exception to print after the message, or {@code null}
+     * @return {@code false} if the message could not be queued and must be written by the caller
+     */
+    boolean write(MavenBaseLogger logger, PrintStream stream, String message, Throwable t) {
+        return enqueue(new Entry(logger, stream, null, message, t));
+    }
+
+    /**
+     * Adds the given message to the queue, waiting if the queue is full.
+     *
+     * @param output the consumer writing the message
+     * @param message the formatted message
+     * @return {@code false} if the message could not be queued and must be written by the caller
+     */
+    boolean write(Consumer<String> output, String message) {
+        return enqueue(new Entry(null, null, output, message, null));
+    }
+
+    private boolean enqueue(Entry entry) {
+        if (Thread.currentThread() == thread) {
+            return false;
+        }
+        int s;
+        while ((s = size.get()) >= capacity || !size.compareAndSet(s, s + 1)) {
+            if (closed || !thread.isAlive()) {
+                return false;
+            }
+            if (s >= capacity) {
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(this, WAIT_NANOS);
+            }
+        }
+        if (closed) {
+            size.decrementAndGet();
+            return false;
+        }
+        submitted.incrementAndGet();
+        queue.offer(entry);
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+        if (entry.throwable != null) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * Waits until the messages queued before this call have been written.
+     */
+    void flush() {
+        long target = submitted.get();
+        while (written < target && thread.isAlive() && Thread.currentThread() != thread) {
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(this, WAIT_NANOS);
+        }
+    }
+
+    /**
+     * Writes the pending messages, then stops the writer thread.  The messages logged afterward are written
+     * synchronously by the callers.
+     */
+    void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // the JVM is shutting down
+            }
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            Entry entry;
+            while (batch.size() < MAX_BATCH && (entry = queue.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                if (closed && size.get() == 0) {
+                    return;
+                }
+                parked = true;
+                if (queue.isEmpty()) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                parked = false;
+                continue;
+            }
+            // the writes may still be done synchronously by other threads, for example while this writer is closed
+            synchronized (MavenBaseLogger.CONFIG_PARAMS) {
+                write(batch, text);
+            }
+            size.addAndGet(-batch.size());
+            written += batch.size();
+            batch.clear();
+        }
+    }
+
+    private static void write(List<Entry> batch, StringBuilder text) {
+        String lineSeparator = System.lineSeparator();
+        PrintStream pending = null;
+        for (Entry entry : batch) {
+            if (pending != null && (pending != entry.stream || entry.throwable != null)) {
+                print(pending, text);
+                pending = null;
+            }
+            if (entry.output != null) {
+                try {
+                    entry.output.accept(entry.message);
+                } catch (RuntimeException e) {
+                    Reporter.error("Could not write log message", e);
+                }
+            } else if (entry.throwable == null) {
+                text.append(entry.message).append(lineSeparator);
+                pending = entry.stream;
+            } else {
+                try {
+                    entry.stream.println(entry.message);
+                    entry.logger.writeThrowable(entry.throwable, entry.stream);
+                    entry.stream.flush();
+                } catch (RuntimeException e) {
+                    Reporter.error("Could not write log message", e);
+                }
+            }
+        }
+        if (pending != null) {
+            print(pending, text);
+        }
+    }
+
+    private static void print(PrintStream stream, StringBuilder text) {
+        try {
+            stream.print(text);
+            stream.flush();
+        } catch (RuntimeException e) {
+            Reporter.error("Could not write log messages", e);
+        }
+        text.setLength(0);
+    }
+
+    private record Entry(
+            MavenBaseLogger logger, PrintStream stream, Consumer<String> output, String message, Throwable throwable) {}
+}
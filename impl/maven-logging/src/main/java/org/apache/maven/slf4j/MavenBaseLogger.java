@@ -19,8 +19,8 @@
 package org.apache.maven.slf4j;
 
 import java.io.PrintStream;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -70,10 +70,9 @@
  *
  * <li><code>org.slf4j.simpleLogger.dateTimeFormat</code> - The date and time
  * format to be used in the output messages. The pattern describing the date and
- * time format is defined by <a href=
- * "http://docs.oracle.com/javase/1.5.0/docs/api/java/text/SimpleDateFormat.html">
- * <code>SimpleDateFormat</code></a>. If the format is not specified or is
- * invalid, the number of milliseconds since start up will be output.</li>
+ * time format is defined by {@link java.time.format.DateTimeFormatter}. If the
+ * format is not specified or is invalid, the number of milliseconds since start
+ * up will be output.</li>
  *
  * <li><code>org.slf4j.simpleLogger.showThreadName</code> -Set to
  * <code>true</code> if you want to output the current thread name. Defaults to
@@ -97,6 +96,16 @@
  * <li><code>org.slf4j.simpleLogger.warnLevelString</code> - The string value
  * output for the warn level. Defaults to <code>WARN</code>.</li>
  *
+ * <li><code>org.slf4j.simpleLogger.async</code> - Set to <code>true</code> to
+ * write the messages from a background thread, so that the threads logging
+ * concurrently do not wait for each other. The messages with an exception and
+ * the pending messages at exit are always flushed. Defaults to
+ * <code>false</code>.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.asyncQueueSize</code> - The maximum number
+ * of messages waiting to be written when <code>async</code> is enabled, after
+ * which the logging threads wait. Defaults to <code>8192</code>.</li>
+ *
  * </ul>
  *
  * <p>
@@ -214,6 +223,10 @@ static void init() {
 
     public static final String DEFAULT_LOG_LEVEL_KEY = MavenBaseLogger.SYSTEM_PREFIX + "defaultLogLevel";
 
+    public static final String ASYNC_KEY = MavenBaseLogger.SYSTEM_PREFIX + "async";
+
+    public static final String ASYNC_QUEUE_SIZE_KEY = MavenBaseLogger.SYSTEM_PREFIX + "asyncQueueSize";
+
     /**
      * Protected access allows only {@link MavenLoggerFactory} and also derived classes to instantiate
      * MavenLoggerFactory instances.
@@ -251,6 +264,10 @@ String recursivelyComputeLevelString() {
     protected void write(StringBuilder buf, Throwable t) {
         PrintStream targetStream = CONFIG_PARAMS.outputChoice.getTargetPrintStream();
 
+        AsyncLogWriter asyncWriter = CONFIG_PARAMS.asyncWriter;
+        if (asyncWriter != null && asyncWriter.write(this, targetStream, buf.toString(), t)) {
+            return;
+        }
         synchronized (CONFIG_PARAMS) {
             targetStream.println(buf.toString());
             writeThrowable(t, targetStream);
@@ -265,12 +282,7 @@ protected void writeThrowable(Throwable t, PrintStream targetStream) {
     }
 
     protected String getFormattedDate() {
-        Date now = new Date();
-        String dateText;
-        synchronized (CONFIG_PARAMS.dateFormatter) {
-            dateText = CONFIG_PARAMS.dateFormatter.format(now);
-        }
-        return dateText;
+        return CONFIG_PARAMS.dateFormatter.format(Instant.now());
     }
 
     protected String computeShortName() {
@@ -435,6 +447,12 @@ private void innerHandleNormalizedLoggingCall(
         buf.append(formattedMessage);
 
         write(buf, t);
+
+        // the errors, such as the build failures, are not left pending in the queue of the asynchronous writer
+        AsyncLogWriter asyncWriter = CONFIG_PARAMS.asyncWriter;
+        if (level == Level.ERROR && asyncWriter != null) {
+            asyncWriter.flush();
+        }
     }
 
     protected String renderLevel(int levelInt) {
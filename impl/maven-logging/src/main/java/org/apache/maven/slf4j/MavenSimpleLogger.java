@@ -45,6 +45,34 @@ public static void setLogSink(Consumer<String> logSink) {
         MavenSimpleLogger.logSink = logSink;
     }
 
+    /**
+     * Returns a consumer which writes the messages to the given output from the background thread of the
+     * asynchronous writer, when enabled with {@link #ASYNC_KEY}, or directly otherwise.  This is meant for the
+     * output of the log sink, whose messages do not go through the asynchronous writer of the loggers.
+     * The pending messages are written by {@link #flushAsyncOutput()}.
+     *
+     * @param output the consumer writing the messages
+     * @return the consumer writing the messages asynchronously
+     */
+    public static Consumer<String> asyncOutput(Consumer<String> output) {
+        return message -> {
+            AsyncLogWriter writer = CONFIG_PARAMS.asyncWriter;
+            if (writer == null || !writer.write(output, message)) {
+                output.accept(message);
+            }
+        };
+    }
+
+    /**
+     * Waits until the messages logged before this call have been written by the asynchronous writer, if enabled.
+     */
+    public static void flushAsyncOutput() {
+        AsyncLogWriter writer = CONFIG_PARAMS.asyncWriter;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
     MavenSimpleLogger(String name) {
         super(name);
     }
@@ -79,6 +107,7 @@ protected void write(StringBuilder buf, Throwable t) {
             sink.accept(buf.toString());
             if (t != null) {
                 writeThrowable(t, sink);
+                flushAsyncOutput();
             }
         } else {
             super.write(buf, t);
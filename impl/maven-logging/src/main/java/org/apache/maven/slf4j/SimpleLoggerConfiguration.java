@@ -22,8 +22,8 @@
 import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.PrintStream;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Properties;
 
 import org.apache.maven.slf4j.OutputChoice.OutputChoiceType;
@@ -56,7 +56,7 @@ public class SimpleLoggerConfiguration {
     private static final String DATE_TIME_FORMAT_STR_DEFAULT = null;
     private static String dateTimeFormatStr = DATE_TIME_FORMAT_STR_DEFAULT;
 
-    DateFormat dateFormatter = null;
+    DateTimeFormatter dateFormatter = null;
 
     private static final boolean SHOW_THREAD_NAME_DEFAULT = true;
     boolean showThreadName = SHOW_THREAD_NAME_DEFAULT;
@@ -88,6 +88,10 @@ public class SimpleLoggerConfiguration {
     private static final String WARN_LEVELS_STRING_DEFAULT = "WARN";
     String warnLevelString = WARN_LEVELS_STRING_DEFAULT;
 
+    private static final boolean ASYNC_DEFAULT = false;
+    private static final int ASYNC_QUEUE_SIZE_DEFAULT = 8192;
+    volatile AsyncLogWriter asyncWriter = null;
+
     private final Properties properties = new Properties();
 
     void init() {
@@ -116,11 +120,21 @@ void init() {
 
         if (dateTimeFormatStr != null) {
             try {
-                dateFormatter = new SimpleDateFormat(dateTimeFormatStr);
+                dateFormatter = DateTimeFormatter.ofPattern(dateTimeFormatStr).withZone(ZoneId.systemDefault());
             } catch (IllegalArgumentException e) {
                 Reporter.error("Bad date format in " + CONFIGURATION_FILE + "; will output relative time", e);
             }
         }
+
+        boolean async = getBooleanProperty(MavenBaseLogger.ASYNC_KEY, ASYNC_DEFAULT);
+        if (async && asyncWriter == null) {
+            int queueSize = getIntProperty(MavenBaseLogger.ASYNC_QUEUE_SIZE_KEY, ASYNC_QUEUE_SIZE_DEFAULT);
+            asyncWriter = new AsyncLogWriter(queueSize);
+        } else if (!async && asyncWriter != null) {
+            AsyncLogWriter writer = asyncWriter;
+            asyncWriter = null;
+            writer.close();
+        }
     }
 
     private void loadProperties() {
@@ -146,6 +160,16 @@ boolean getBooleanProperty(String name, boolean defaultValue) {
         return (prop == null) ? defaultValue : "true".equalsIgnoreCase(prop);
     }
 
+    int getIntProperty(String name, int defaultValue) {
+        String prop = getStringProperty(name);
+        try {
+            return (prop == null) ? defaultValue : Integer.parseInt(prop.trim());
+        } catch (NumberFormatException e) {
+            Reporter.error("Bad value for " + name + "; will use " + defaultValue, e);
+            return defaultValue;
+        }
+    }
+
     String getStringProperty(String name) {
         String prop = null;
         try {
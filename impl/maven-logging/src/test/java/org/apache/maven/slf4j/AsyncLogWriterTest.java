@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncLogWriterTest {
+
+    AsyncLogWriter writer = new AsyncLogWriter(4);
+
+    MavenBaseLogger logger = new MavenBaseLogger("logger");
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    PrintStream stream = new PrintStream(output, true, UTF_8);
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    void writesAllMessagesInOrderOfEachThread() throws Exception {
+        int threads = 8;
+        int messages = 1000;
+        List<Thread> loggers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            loggers.add(new Thread(() -> {
+                for (int i = 0; i < messages; i++) {
+                    assertTrue(writer.write(logger, stream, thread + ":" + i, null));
+                }
+            }));
+        }
+        loggers.forEach(Thread::start);
+        for (Thread thread : loggers) {
+            thread.join();
+        }
+        writer.flush();
+
+        int[] last = new int[threads];
+        Arrays.fill(last, -1);
+        String[] lines = output.toString(UTF_8).split(System.lineSeparator());
+        assertEquals(threads * messages, lines.length);
+        for (String line : lines) {
+            int thread = Integer.parseInt(line.substring(0, line.indexOf(':')));
+            int index = Integer.parseInt(line.substring(line.indexOf(':') + 1));
+            assertEquals(last[thread] + 1, index, line);
+            last[thread] = index;
+        }
+    }
+
+    @Test
+    void flushesMessagesWithException() {
+        assertTrue(writer.write(logger, stream, "before", null));
+        assertTrue(writer.write(logger, stream, "failure", new IllegalStateException("cause")));
+
+        String actual = output.toString(UTF_8);
+        assertTrue(actual.startsWith("before" + System.lineSeparator() + "failure" + System.lineSeparator()), actual);
+        assertTrue(actual.contains("java.lang.IllegalStateException: cause"), actual);
+    }
+
+    @Test
+    void writesOutputMessagesInOrderWithStreamMessages() {
+        List<String> lines = new ArrayList<>();
+        assertTrue(writer.write(logger, stream, "stream", null));
+        assertTrue(writer.write(message -> lines.add(output.toString(UTF_8) + message), "output"));
+        writer.flush();
+
+        assertEquals(List.of("stream" + System.lineSeparator() + "output"), lines);
+    }
+
+    @Test
+    void writesPendingMessagesWhenClosed() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(writer.write(logger, stream, "message " + i, null));
+        }
+        writer.close();
+
+        assertTrue(output.toString(UTF_8).endsWith("message 99" + System.lineSeparator()));
+        assertFalse(writer.write(logger, stream, "closed", null));
+    }
+}
@@ -29,11 +29,7 @@
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.maven.api.xml.XmlNode;
 
@@ -43,6 +39,11 @@
 public class XmlNodeImpl implements Serializable, XmlNode {
     private static final long serialVersionUID = 2567894443061173996L;
 
+    /**
+     * Minimum number of children for which getChild(String) uses an index rather than a linear scan.
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
     protected final String prefix;
 
     protected final String namespaceUri;
@@ -57,6 +58,11 @@ public class XmlNodeImpl implements Serializable, XmlNode {
 
     protected final Object location;
 
+    /**
+     * Children by name, lazily built for nodes with many children, keeping the last child for each name.
+     */
+    private transient volatile Map<String, XmlNode> childIndex;
+
     public XmlNodeImpl(String name) {
         this(name, null, null, null, null);
     }
@@ -141,7 +147,17 @@ public String getAttribute(String name) {
     // ----------------------------------------------------------------------
 
     public XmlNode getChild(String name) {
-        if (name != null) {
+        if (name != null && children.size() >= INDEX_THRESHOLD) {
+            Map<String, XmlNode> index = childIndex;
+            if (index == null) {
+                index = new HashMap<>();
+                for (XmlNode child : children) {
+                    index.put(child.getName(), child);
+                }
+                childIndex = index;
+            }
+            return index.get(name);
+        } else if (name != null) {
             ListIterator<XmlNode> it = children.listIterator(children.size());
             while (it.hasPrevious()) {
                 XmlNode child = it.previous();
@@ -258,19 +274,11 @@ public static XmlNode merge(XmlNode dominant, XmlNode recessive, Boolean childMe
                     }
                 }
 
-                Map<String, Iterator<XmlNode>> commonChildren = new HashMap<>();
-                Set<String> names =
-                        recessive.getChildren().stream().map(XmlNode::getName).collect(Collectors.toSet());
-                for (String name : names) {
-                    List<XmlNode> dominantChildren = dominant.getChildren().stream()
-                            .filter(n -> n.getName().equals(name))
-                            .toList();
-                    if (!dominantChildren.isEmpty()) {
-                        commonChildren.put(name, dominantChildren.iterator());
-                    }
-                }
+                // dominant children by name, computed when needed
+                Map<String, Iterator<XmlNode>> commonChildren = null;
 
                 String keysValue = recessive.getAttribute(KEYS_COMBINATION_MODE_ATTRIBUTE);
+                String[] keys = !isEmpty(keysValue) ? keysValue.split(",") : null;
 
                 int recessiveChildIndex = 0;
                 for (XmlNode recessiveChild : recessive.getChildren()) {
@@ -285,18 +293,9 @@ public static XmlNode merge(XmlNode dominant, XmlNode recessive, Boolean childMe
                                 mergeChildren = true;
                             }
                         }
-                    } else if (!isEmpty(keysValue)) {
-                        String[] keys = keysValue.split(",");
-                        Map<String, Optional<String>> recessiveKeyValues = Stream.of(keys)
-                                .collect(Collectors.toMap(
-                                        k -> k, k -> Optional.ofNullable(recessiveChild.getAttribute(k))));
-
+                    } else if (keys != null) {
                         for (XmlNode dominantChild : dominant.getChildren()) {
-                            Map<String, Optional<String>> dominantKeyValues = Stream.of(keys)
-                                    .collect(Collectors.toMap(
-                                            k -> k, k -> Optional.ofNullable(dominantChild.getAttribute(k))));
-
-                            if (recessiveKeyValues.equals(dominantKeyValues)) {
+                            if (keysMatch(keys, recessiveChild, dominantChild)) {
                                 childDom = dominantChild;
                                 // we have a match, so don't append but merge
                                 mergeChildren = true;
@@ -307,15 +306,11 @@ public static XmlNode merge(XmlNode dominant, XmlNode recessive, Boolean childMe
                     }
 
                     if (mergeChildren && childDom != null) {
-                        String name = recessiveChild.getName();
-                        Iterator<XmlNode> it =
-                                commonChildren.computeIfAbsent(name, n1 -> Stream.of(dominant.getChildren().stream()
-                                                .filter(n2 -> n2.getName().equals(n1))
-                                                .collect(Collectors.toList()))
-                                        .filter(l -> !l.isEmpty())
-                                        .map(List::iterator)
-                                        .findFirst()
-                                        .orElse(null));
+                        if (commonChildren == null) {
+                            commonChildren = new HashMap<>();
+                        }
+                        Iterator<XmlNode> it = commonChildren.computeIfAbsent(
+                                recessiveChild.getName(), n -> childrenNamed(dominant, n));
                         if (it == null) {
                             if (children == null) {
                                 children = new ArrayList<>(dominant.getChildren());
@@ -451,6 +446,28 @@ private static <T> boolean addToStringField(StringBuilder sb, T o, Function<T, B
         return w;
     }
 
+    private static Iterator<XmlNode> childrenNamed(XmlNode node, String name) {
+        List<XmlNode> children = null;
+        for (XmlNode child : node.getChildren()) {
+            if (child.getName().equals(name)) {
+                if (children == null) {
+                    children = new ArrayList<>();
+                }
+                children.add(child);
+            }
+        }
+        return children != null ? children.iterator() : null;
+    }
+
+    private static boolean keysMatch(String[] keys, XmlNode recessive, XmlNode dominant) {
+        for (String key : keys) {
+            if (!Objects.equals(recessive.getAttribute(key), dominant.getAttribute(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static boolean isEmpty(String str) {
         return str == null || str.isEmpty();
     }
@@ -38,15 +38,32 @@
 public class XmlNodeStaxBuilder {
     private static final boolean DEFAULT_TRIM = true;
 
+    /**
+     * The factory is looked up once, as the lookup is costly, and is safe to share once configured.
+     */
+    static class InputFactoryHolder {
+        static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+    }
+
     public static XmlNodeImpl build(InputStream stream, InputLocationBuilderStax locationBuilder)
             throws XMLStreamException {
-        XMLStreamReader parser = XMLInputFactory.newFactory().createXMLStreamReader(stream);
-        return build(parser, DEFAULT_TRIM, locationBuilder);
+        XMLStreamReader parser = InputFactoryHolder.XML_INPUT_FACTORY.createXMLStreamReader(stream);
+        try {
+            return build(parser, DEFAULT_TRIM, locationBuilder);
+        } finally {
+            // does not close the stream, but allows the parser to recycle its buffers
+            parser.close();
+        }
     }
 
     public static XmlNodeImpl build(Reader reader, InputLocationBuilderStax locationBuilder) throws XMLStreamException {
-        XMLStreamReader parser = XMLInputFactory.newFactory().createXMLStreamReader(reader);
-        return build(parser, DEFAULT_TRIM, locationBuilder);
+        XMLStreamReader parser = InputFactoryHolder.XML_INPUT_FACTORY.createXMLStreamReader(reader);
+        try {
+            return build(parser, DEFAULT_TRIM, locationBuilder);
+        } finally {
+            // does not close the reader, but allows the parser to recycle its buffers
+            parser.close();
+        }
     }
 
     public static XmlNodeImpl build(XMLStreamReader parser) throws XMLStreamException {
@@ -39,6 +39,7 @@
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class XmlNodeImplTest {
 
@@ -594,6 +595,34 @@ void testDupeChildren() throws IOException, XMLStreamException {
         assertEquals("y", dom.getChild("foo").getValue());
     }
 
+    @Test
+    void testDupeChildrenIndexed() throws IOException, XMLStreamException {
+        StringBuilder sb = new StringBuilder("<configuration>");
+        for (int i = 0; i < 20; i++) {
+            sb.append("<foo>").append(i).append("</foo><bar").append(i).append("/>");
+        }
+        XmlNode dom = toXmlNode(sb.append("</configuration>").toString());
+        assertEquals("19", dom.getChild("foo").getValue());
+        assertEquals("bar7", dom.getChild("bar7").getName());
+        assertNull(dom.getChild("baz"));
+        assertNull(dom.getChild(null));
+    }
+
+    @Test
+    void testMergeUnchangedReturnsDominant() throws IOException, XMLStreamException {
+        String dominant = "<configuration><a>1</a><b><c>2</c></b><d x=\"y\">3</d></configuration>";
+        String recessive = "<configuration><a>4</a><b><c>5</c></b><d>6</d></configuration>";
+        XmlNode d = toXmlNode(dominant);
+        assertSame(d, d.merge(toXmlNode(recessive)));
+        assertSame(d, d.merge(toXmlNode(dominant)));
+
+        XmlNode m = d.merge(toXmlNode("<configuration><b><e>7</e></b></configuration>"));
+        assertNotSame(d, m);
+        assertSame(d.getChild("a"), m.getChild("a"));
+        assertSame(d.getChild("d"), m.getChild("d"));
+        assertEquals("7", m.getChild("b").getChild("e").getValue());
+    }
+
     /**
      * <p>testShouldRemoveEntireElementWithAttributesAndChildren.</p>
      *
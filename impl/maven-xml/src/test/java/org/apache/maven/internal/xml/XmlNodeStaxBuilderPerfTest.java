@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.xml;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.xml.XmlNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of parsing a small plugin configuration, with a factory looked up for each parse
+ * and with the factory shared by {@link XmlNodeStaxBuilder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(time = 10)
+@State(Scope.Benchmark)
+public class XmlNodeStaxBuilderPerfTest {
+
+    private static final String CONFIGURATION = "<configuration>"
+            + "<release>17</release>"
+            + "<compilerArgs><arg>-Xlint:all</arg><arg>-parameters</arg></compilerArgs>"
+            + "<annotationProcessorPaths>"
+            + "<path><groupId>org.example</groupId><artifactId>processor</artifactId><version>1.0</version></path>"
+            + "</annotationProcessorPaths>"
+            + "<excludes><exclude>**/generated/**</exclude></excludes>"
+            + "</configuration>";
+
+    @Benchmark
+    public XmlNode buildWithNewFactory() throws XMLStreamException {
+        XMLStreamReader parser = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(CONFIGURATION));
+        return XmlNodeStaxBuilder.build(parser, null);
+    }
+
+    @Benchmark
+    public XmlNode buildWithSharedFactory() throws XMLStreamException {
+        return XmlNodeStaxBuilder.build(new StringReader(CONFIGURATION), null);
+    }
+
+    /**
+     * <p>main.</p>
+     *
+     * @param args a {@link String} object.
+     * @throws org.openjdk.jmh.runner.RunnerException if any.
+     */
+    public static void main(String... args) throws RunnerException {
+        Options opts = new OptionsBuilder()
+                .include(XmlNodeStaxBuilderPerfTest.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -22,15 +22,30 @@
 import java.io.Serializable;
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
+/**
+ * A list of v3 wrappers backed by a list of v4 objects.  When a {@code setter} is given, the backing list is
+ * immutable, and each modification creates a new list which is given to the setter.  Bulk operations thus
+ * only create one new list, and when the {@code owner} has no parent (see {@code BaseObject.pendingList()}),
+ * the modifications are applied to a mutable list which is only applied to the delegate of the owner when
+ * it is read.  The pending list is guarded by the monitor of the owner.
+ */
 class WrapperList<T, U> extends AbstractList<T> implements Serializable {
+    private final BaseObject owner;
+    private final String key;
     private final Supplier<List<U>> getter;
     private final Consumer<List<U>> setter;
+    private final BiFunction<Object, List<U>, Object> wither;
     private final Function<U, T> mapper;
     private final Function<T, U> revMapper;
 
@@ -39,70 +54,173 @@
     }
 
     WrapperList(Supplier<List<U>> getter, Consumer<List<U>> setter, Function<U, T> mapper, Function<T, U> revMapper) {
+        this.owner = null;
+        this.key = null;
         this.getter = getter;
         this.setter = setter;
+        this.wither = null;
+        this.mapper = mapper;
+        this.revMapper = revMapper;
+    }
+
+    /**
+     * Creates a list of the given owner, whose delegate is copied with a modified list by the given {@code wither}.
+     */
+    WrapperList(
+            BaseObject owner,
+            String key,
+            Supplier<List<U>> getter,
+            BiFunction<Object, List<U>, Object> wither,
+            Function<U, T> mapper,
+            Function<T, U> revMapper) {
+        this.owner = owner;
+        this.key = key;
+        this.getter = getter;
+        this.setter = l -> owner.update(wither.apply(owner.delegate, l));
+        this.wither = wither;
         this.mapper = mapper;
         this.revMapper = revMapper;
     }
 
     @Override
     public T get(int index) {
-        return mapper.apply(getter.get().get(index));
+        return mapper.apply(read().get(index));
     }
 
     @Override
     public int size() {
-        return getter.get().size();
+        return read().size();
     }
 
     @Override
     public boolean add(T t) {
         Objects.requireNonNull(t);
-        if (setter != null) {
-            List<U> list = new ArrayList<>(getter.get());
-            boolean ret = list.add(revMapper.apply(t));
-            setter.accept(list);
-            return ret;
-        } else {
-            return getter.get().add(revMapper.apply(t));
-        }
+        return edit(list -> list.add(revMapper.apply(t)));
     }
 
     @Override
     public T set(int index, T element) {
         Objects.requireNonNull(element);
-        if (setter != null) {
-            List<U> list = new ArrayList<>(getter.get());
-            U ret = list.set(index, revMapper.apply(element));
-            setter.accept(list);
-            return mapper.apply(ret);
-        } else {
-            return mapper.apply(getter.get().set(index, revMapper.apply(element)));
-        }
+        return mapper.apply(edit(list -> list.set(index, revMapper.apply(element))));
     }
 
     @Override
     public void add(int index, T element) {
         Objects.requireNonNull(element);
-        if (setter != null) {
-            List<U> list = new ArrayList<>(getter.get());
+        edit(list -> {
             list.add(index, revMapper.apply(element));
-            setter.accept(list);
-        } else {
-            getter.get().add(index, revMapper.apply(element));
-        }
+            return null;
+        });
     }
 
     @Override
     public T remove(int index) {
-        if (setter != null) {
-            List<U> list = new ArrayList<>(getter.get());
-            U ret = list.remove(index);
-            setter.accept(list);
-            return mapper.apply(ret);
-        } else {
-            return mapper.apply(getter.get().remove(index));
+        return mapper.apply(edit(list -> list.remove(index)));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return addAll(read().size(), c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        List<U> elements = new ArrayList<>(c.size());
+        for (T t : c) {
+            elements.add(revMapper.apply(Objects.requireNonNull(t)));
+        }
+        return !elements.isEmpty() && edit(list -> list.addAll(index, elements));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        return edit(list -> list.removeIf(u -> filter.test(mapper.apply(u))));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(t -> !c.contains(t));
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        edit(list -> {
+            list.replaceAll(u -> revMapper.apply(Objects.requireNonNull(operator.apply(mapper.apply(u)))));
+            return null;
+        });
+    }
+
+    @Override
+    public void sort(Comparator<? super T> c) {
+        edit(list -> {
+            List<T> sorted = new ArrayList<>(list.size());
+            list.forEach(u -> sorted.add(mapper.apply(u)));
+            sorted.sort(c);
+            list.clear();
+            sorted.forEach(t -> list.add(revMapper.apply(t)));
+            return null;
+        });
+    }
+
+    @Override
+    public void clear() {
+        if (!read().isEmpty()) {
+            edit(list -> {
+                list.clear();
+                return null;
+            });
+        }
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        edit(list -> {
+            list.subList(fromIndex, toIndex).clear();
+            return null;
+        });
+    }
+
+    private List<U> read() {
+        if (owner == null) {
+            return getter.get();
+        }
+        synchronized (owner) {
+            List<U> pending = owner.pendingList(key);
+            if (pending == null) {
+                return getter.get();
+            }
+            // the thread which created the pending list may still be modifying it
+            return owner.isPendingThread() ? pending : new ArrayList<>(pending);
+        }
+    }
+
+    private <R> R edit(Function<List<U>, R> operation) {
+        if (setter == null) {
+            return operation.apply(getter.get());
+        }
+        if (owner != null) {
+            synchronized (owner) {
+                List<U> pending = owner.pendingList(key, getter, wither);
+                if (pending != null) {
+                    modCount++;
+                    return operation.apply(pending);
+                }
+            }
         }
+        List<U> list = new ArrayList<>(getter.get());
+        R ret = operation.apply(list);
+        modCount++;
+        setter.accept(list);
+        return ret;
     }
 
     private Object writeReplace() throws ObjectStreamException {